@@ -0,0 +1,55 @@
+package io.github.ajoz.fold;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ The foldLeft with a loop (Fold5FunctionalLibrary) against the recursive one
+ (Fold6FunctionalLibrary), both summing a list of Integers.
+
+ The recursive foldLeft makes a call and a sublist for every element, so the
+ sizes stay small enough not to overflow the stack.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FoldBenchmark {
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private List<Integer> list;
+
+    @Setup
+    public void setup() {
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+    }
+
+    @Benchmark
+    public Integer foldLeft() {
+        return Fold5FunctionalLibrary.foldLeft(list, 0, (acc, value) -> acc + value);
+    }
+
+    @Benchmark
+    public Integer foldLeftRecursive() {
+        return Fold6FunctionalLibrary.foldLeftRecursive(list, 0, (acc, value) -> acc + value);
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.ajoz.iter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ Measures the cost of a single element going through a pipeline of the given
+ depth. The pipeline alternates between map and filter stages (the filters
+ let every element through, so each stage does the same amount of work).
+
+ The "fused" benchmarks build the pipeline with Iter.map and Iter.filter, so
+ all the stages are fused into one FusedIter. The "stageByStage" benchmarks
+ create the MapIter and FilterIter directly, which is how every pipeline was
+ run before the fusion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IterFusionBenchmark {
+    private static final int SIZE = 10_000;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int depth;
+
+    private Integer[] source;
+
+    @Setup
+    public void setup() {
+        source = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            source[i] = i;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fusedForEach(final Blackhole blackhole) {
+        fused().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void stageByStageForEach(final Blackhole blackhole) {
+        stageByStage().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void fusedNext(final Blackhole blackhole) {
+        drain(fused(), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void stageByStageNext(final Blackhole blackhole) {
+        drain(stageByStage(), blackhole);
+    }
+
+    private Iter<Integer> fused() {
+        Iter<Integer> iter = Iter.from(source);
+        for (int stage = 0; stage < depth; stage++) {
+            iter = stage % 2 == 0
+                    ? iter.map(x -> x + 1)
+                    : iter.filter(x -> x >= 0);
+        }
+        return iter;
+    }
+
+    private Iter<Integer> stageByStage() {
+        Iter<Integer> iter = new ArrayIter<>(source);
+        for (int stage = 0; stage < depth; stage++) {
+            iter = stage % 2 == 0
+                    ? new MapIter<>(iter, x -> x + 1)
+                    : new FilterIter<>(iter, x -> x >= 0);
+        }
+        return iter;
+    }
+
+    private static void drain(final Iter<Integer> iter,
+                              final Blackhole blackhole) {
+        while (iter.next().ifSuccess(blackhole::consume).isSuccess()) {
+            // the blackhole already consumed the element
+        }
+    }
+}
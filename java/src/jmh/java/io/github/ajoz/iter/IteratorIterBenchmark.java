@@ -0,0 +1,77 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ Measures the cost of adapting a java.util.Iterator of the given length and
+ draining it with next(). The "tryOfSupplier" benchmark uses the previous
+ version of the IteratorIter, which relied on the exception thrown by the
+ Iterator at its end, the "hasNext" benchmark uses the current IteratorIter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IteratorIterBenchmark {
+    @Param({"0", "1", "10", "1000000"})
+    public int length;
+
+    private List<Integer> source;
+
+    @Setup
+    public void setup() {
+        source = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            source.add(i);
+        }
+    }
+
+    @Benchmark
+    public void tryOfSupplier(final Blackhole blackhole) {
+        drain(new TryOfSupplierIteratorIter<>(source.iterator()), blackhole);
+    }
+
+    @Benchmark
+    public void hasNext(final Blackhole blackhole) {
+        drain(new IteratorIter<>(source.iterator()), blackhole);
+    }
+
+    private static void drain(final Iter<Integer> iter,
+                              final Blackhole blackhole) {
+        while (iter.next().ifSuccess(blackhole::consume).isSuccess()) {
+            // the blackhole already consumed the element
+        }
+    }
+
+    private static final class TryOfSupplierIteratorIter<T> implements Iter<T> {
+        private final Iterator<T> iterator;
+
+        TryOfSupplierIteratorIter(final Iterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public Try<T> next() {
+            return Try.ofSupplier(iterator::next);
+        }
+    }
+}
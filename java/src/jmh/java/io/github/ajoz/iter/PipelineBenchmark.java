@@ -0,0 +1,116 @@
+package io.github.ajoz.iter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ The same pipeline written with an Iter, a java.util.stream.Stream and a
+ plain loop. The pipeline has the given number of stages, alternating
+ between a map (adding one) and a filter (letting every element through),
+ and ends with a sum of the elements.
+
+ The Iter is measured twice: with forEach (tryAdvance, no Try per element)
+ and with next (a Try per element and per stage), so the cost of the Try
+ can be read from the difference.
+
+ Run with the gc profiler (the jmh block in build.gradle sets it), the
+ allocation rate per operation shows how much garbage each version makes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"1", "4", "8"})
+    public int depth;
+
+    private Integer[] source;
+    private List<Integer> list;
+
+    @Setup
+    public void setup() {
+        source = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            source[i] = i;
+        }
+        list = Arrays.asList(source);
+    }
+
+    @Benchmark
+    public long iterForEach() {
+        final long[] sum = {0};
+        iter().forEach(value -> sum[0] += value);
+        return sum[0];
+    }
+
+    @Benchmark
+    public long iterNext() {
+        final Iter<Integer> iter = iter();
+        long sum = 0;
+        while (true) {
+            final Integer value = iter.next().getOrElse((Integer) null);
+            if (value == null)
+                return sum;
+            sum += value;
+        }
+    }
+
+    @Benchmark
+    public long stream() {
+        Stream<Integer> stream = list.stream();
+        for (int stage = 0; stage < depth; stage++) {
+            stream = stage % 2 == 0
+                    ? stream.map(value -> value + 1)
+                    : stream.filter(value -> value >= 0);
+        }
+        return stream.mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long loop() {
+        long sum = 0;
+        for (final Integer element : source) {
+            Integer value = element;
+            boolean matched = true;
+            for (int stage = 0; stage < depth && matched; stage++) {
+                if (stage % 2 == 0) {
+                    value = value + 1;
+                } else {
+                    matched = value >= 0;
+                }
+            }
+            if (matched)
+                sum += value;
+        }
+        return sum;
+    }
+
+    private Iter<Integer> iter() {
+        Iter<Integer> iter = Iter.from(source);
+        for (int stage = 0; stage < depth; stage++) {
+            iter = stage % 2 == 0
+                    ? iter.map(value -> value + 1)
+                    : iter.filter(value -> value >= 0);
+        }
+        return iter;
+    }
+}
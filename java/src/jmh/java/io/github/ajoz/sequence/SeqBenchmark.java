@@ -0,0 +1,76 @@
+package io.github.ajoz.sequence;
+
+import io.github.ajoz.iter.Iter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ Compares the lazy Seq with the Iter on the same work: a list is turned into
+ a Seq (or an Iter), mapped a given number of times and summed.
+
+ The Seq creates a Cons and a tail Supplier for every element and every map,
+ the Iter only creates the stages. The gc profiler shows the difference in
+ the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeqBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    @Param({"1", "4"})
+    public int depth;
+
+    private List<Integer> list;
+
+    @Setup
+    public void setup() {
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+    }
+
+    @Benchmark
+    public long seq() {
+        Seq<Integer> seq = Seq.of(list);
+        for (int stage = 0; stage < depth; stage++) {
+            seq = seq.map(value -> value + 1);
+        }
+
+        long sum = 0;
+        for (final Integer value : seq) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iter() {
+        Iter<Integer> iter = Iter.fromIterable(list);
+        for (int stage = 0; stage < depth; stage++) {
+            iter = iter.map(value -> value + 1);
+        }
+
+        final long[] sum = {0};
+        iter.forEach(value -> sum[0] += value);
+        return sum[0];
+    }
+}
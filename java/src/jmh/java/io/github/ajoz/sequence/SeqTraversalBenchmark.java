@@ -0,0 +1,87 @@
+package io.github.ajoz.sequence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ The cost of walking a Seq built with generate, map and flatMap, and of one
+ built from a List. Zipping a Seq with its own tail walks the same cells
+ twice, so it shows how much an unevaluated (or reevaluated) tail costs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeqTraversalBenchmark {
+    @Param({"100", "1000"})
+    public int size;
+
+    private List<Integer> list;
+
+    @Setup
+    public void setup() {
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            list.add(i);
+    }
+
+    @Benchmark
+    public long traverse() {
+        long sum = 0;
+        for (final Integer value : pipeline()) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long zipWithTail() {
+        final Seq<Integer> seq = pipeline();
+        long sum = 0;
+        for (final Integer value : seq.zip(seq.getTail(), (first, second) -> second - first)) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long mapList() {
+        long sum = 0;
+        for (final Integer value : Seq.of(list).map(x -> x * 2).take(size - 1)) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long zipLists() {
+        long sum = 0;
+        for (final Integer value : Seq.of(list).zip(Seq.of(list), Integer::sum)) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    private Seq<Integer> pipeline() {
+        return Seq.generate(0, x -> x + 1)
+                .map(x -> x * 2)
+                .flatMap(x -> Seq.of(Arrays.asList(x, x + 1)))
+                .take(size);
+    }
+}
@@ -2,7 +2,9 @@ package io.github.ajoz.iter;
 
 import io.github.ajoz.util.Try;
 
-import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 public final class ArrayIter<T> implements Iter<T> {
     private final T[] array;
@@ -15,14 +17,56 @@ public final class ArrayIter<T> implements Iter<T> {
 
     @Override
     public Try<T> next() {
-        if (array.length == 0)
-            return Try.failure(new NoSuchElementException("No elements in this Iter!"));
-
         if (current >= array.length)
-            return Try.failure(new NoSuchElementException("No more elements in this Iter!"));
+            return EndOfIter.failure();
 
         final Try<T> next = Try.success(array[current]);
         current++;
         return next;
     }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (current >= array.length)
+            return false;
+
+        action.accept(array[current++]);
+        return true;
+    }
+
+    @Override
+    public int nextBatch(final int max, final Object[] buffer) {
+        Iters.checkBatch(max, buffer);
+        final int count = Math.min(max, array.length - current);
+        System.arraycopy(array, current, buffer, 0, count);
+        current += count;
+        return count;
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        while (current < array.length) {
+            action.accept(array[current++]);
+        }
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        return array.length - current;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    // the remaining elements are handed over to the spliterator, which can
+    // split the array evenly for the ParallelIter
+    @Override
+    public Spliterator<T> spliterator() {
+        final Spliterator<T> spliterator =
+                Spliterators.spliterator(array, current, array.length, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+        current = array.length;
+        return spliterator;
+    }
 }
@@ -0,0 +1,62 @@
+package io.github.ajoz.iter;
+
+import java.util.Objects;
+
+/*
+ A Bloom filter with the number of bits and hash functions chosen for the
+ expected number of elements and the false positive rate:
+
+ bits = -n * ln(p) / ln(2)^2
+ hashes = bits / n * ln(2)
+
+ The k hashes are derived from a single 64 bit hash with the double hashing
+ (h1 + i * h2), the 64 bit hash is the hashCode of the element spread with
+ the finalizer of MurmurHash3. As the hashCode has only 32 bits, the filter
+ does not get better than 1 / 2^32 no matter how many bits it has.
+ */
+final class BloomSeenSet<T> implements SeenSet<T> {
+    private static final double LN2 = Math.log(2);
+    // a long[] cannot have more than Integer.MAX_VALUE words
+    private static final long MAX_BITS = (long) (Integer.MAX_VALUE - 8) * Long.SIZE;
+
+    private final long[] words;
+    private final long bits;
+    private final int hashes;
+
+    BloomSeenSet(final long expectedElements, final double falsePositiveRate) {
+        final double optimalBits = -expectedElements * Math.log(falsePositiveRate) / (LN2 * LN2);
+        final long wordCount = (long) Math.ceil(Math.min(optimalBits, MAX_BITS) / Long.SIZE);
+        this.words = new long[(int) Math.max(wordCount, 1)];
+        this.bits = (long) words.length * Long.SIZE;
+        this.hashes = (int) Math.max(1, Math.round((double) bits / expectedElements * LN2));
+    }
+
+    @Override
+    public boolean add(final T value) {
+        final long hash = mix(Objects.hashCode(value));
+        final long h1 = hash;
+        final long h2 = (hash >>> 32) | 1;
+
+        boolean added = false;
+        for (int i = 0; i < hashes; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, bits);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    private static long mix(final long hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
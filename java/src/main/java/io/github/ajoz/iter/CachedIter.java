@@ -0,0 +1,41 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.function.Consumer;
+
+/*
+ An Iter that remembers all the elements pulled from the upstream, so they
+ can be read again with replay. The upstream is pulled only once, and only
+ as far as the furthest cursor has read.
+
+ Unlike share, the first segment of the buffer is kept, so the whole upstream
+ stays in the memory as long as the CachedIter is reachable.
+ */
+public final class CachedIter<T> implements Iter<T> {
+    private final SharedBuffer<T> buffer;
+    private final SharedBuffer.Segment head;
+    private final SharedIter<T> cursor;
+
+    public CachedIter(final Iter<T> upstream) {
+        this.buffer = new SharedBuffer<>(upstream);
+        this.head = buffer.tail();
+        this.cursor = new SharedIter<>(buffer, head);
+    }
+
+    @Override
+    public Try<T> next() {
+        return cursor.next();
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        return cursor.tryAdvance(action);
+    }
+
+    // a new Iter over all the elements of the upstream from the beginning,
+    // independent of this one
+    public Iter<T> replay() {
+        return new SharedIter<>(buffer, head);
+    }
+}
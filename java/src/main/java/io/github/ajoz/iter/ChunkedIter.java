@@ -0,0 +1,69 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ Groups the elements of the upstream into lists of the given size, only the
+ last list might be smaller. Each chunk is pulled from the upstream with a
+ single nextBatch, so sources like ArrayIter copy it in bulk.
+
+ Each chunk is a new list, it can be kept or passed further (for example to
+ a batch insert) without being overwritten by the next one.
+ */
+public final class ChunkedIter<T> implements Iter<List<T>>, AutoCloseable {
+    private final Iter<T> upstream;
+    private final int size;
+
+    public ChunkedIter(final Iter<T> upstream,
+                       final int size) {
+        this.upstream = upstream;
+        this.size = size;
+    }
+
+    @Override
+    public Try<List<T>> next() {
+        final List<T> chunk = nextChunk();
+        return chunk == null ? EndOfIter.failure() : Try.success(chunk);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super List<T>> action) {
+        final List<T> chunk = nextChunk();
+        if (chunk == null)
+            return false;
+
+        action.accept(chunk);
+        return true;
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        final long upstreamSize = upstream.exactSizeIfKnown();
+        return upstreamSize < 0 ? -1 : (upstreamSize + size - 1) / size;
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & (Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED);
+    }
+
+    @Override
+    public void close() {
+        Iters.close(upstream);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> nextChunk() {
+        final Object[] buffer = new Object[size];
+        final int count = upstream.nextBatch(size, buffer);
+        if (count == 0)
+            return null;
+
+        return (List<T>) Arrays.asList(count == size ? buffer : Arrays.copyOf(buffer, count));
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ Returns all the elements of the first Iter, then all the elements of the
+ second one and so on. An Iter is pulled only after all the previous ones
+ have ended.
+ */
+public final class ConcatIter<T> implements Iter<T> {
+    private final Iter<? extends T>[] iters;
+    private int current;
+
+    public ConcatIter(final Iter<? extends T>[] iters) {
+        this.iters = iters;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Try<T> next() {
+        while (true) {
+            final Try<T> next = (Try<T>) iters[current].next();
+            // the failure of the last Iter is the failure of the whole
+            if (next.isSuccess() || current == iters.length - 1)
+                return next;
+            release();
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        while (!iters[current].tryAdvance(action)) {
+            if (current == iters.length - 1)
+                return false;
+            release();
+        }
+        return true;
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        long size = 0;
+        for (int i = current; i < iters.length; i++) {
+            final long iterSize = iters[i].exactSizeIfKnown();
+            if (iterSize < 0)
+                return -1;
+            size += iterSize;
+            // an overflow means the size is too big to be known
+            if (size < 0)
+                return -1;
+        }
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return exactSizeIfKnown() < 0
+                ? Spliterator.ORDERED
+                : Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    // an Iter that has ended is not needed anymore
+    private void release() {
+        iters[current++] = Iter.empty();
+    }
+}
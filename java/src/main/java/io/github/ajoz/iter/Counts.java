@@ -0,0 +1,48 @@
+package io.github.ajoz.iter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+/*
+ The result of Iter.countBy. The counts are kept in a long[] under the
+ numbers the KeyIndex gave to the keys, so counting an element increments an
+ array slot instead of replacing a boxed Long in a Map. The keys keep the
+ order in which they first appeared.
+ */
+public final class Counts<K> {
+    private final KeyIndex<K> index;
+    private final long[] counts;
+
+    Counts(final KeyIndex<K> index, final long[] counts) {
+        this.index = index;
+        this.counts = counts;
+    }
+
+    // returns 0 for a key that did not appear at all
+    public long count(final Object key) {
+        final int i = index.indexOf(key);
+        return i < 0 ? 0 : counts[i];
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public void forEach(final ObjLongConsumer<? super K> action) {
+        for (int i = 0; i < index.size(); i++) {
+            action.accept(index.key(i), counts[i]);
+        }
+    }
+
+    public Map<K, Long> toMap() {
+        final Map<K, Long> map = new LinkedHashMap<>();
+        forEach(map::put);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ Returns only the elements that were not returned before. The elements are
+ checked lazily, one by one as they are pulled, so distinct works on an
+ infinite Iter too (as long as it has enough distinct elements). What was
+ already returned is remembered by the SeenSet.
+
+ It is a filter with SeenSet.add as the predicate, this Iter only adds the
+ DISTINCT characteristic to it.
+ */
+public final class DistinctIter<T> implements Iter<T>, AutoCloseable {
+    private final FilterIter<T> filtered;
+
+    public DistinctIter(final Iter<T> upstream,
+                        final SeenSet<? super T> seen) {
+        this.filtered = new FilterIter<>(upstream, seen::add);
+    }
+
+    @Override
+    public Try<T> next() {
+        return filtered.next();
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        return filtered.tryAdvance(action);
+    }
+
+    // it is not known upfront how many elements are distinct, but whatever
+    // is returned does not repeat
+    @Override
+    public int characteristics() {
+        return filtered.characteristics() | Spliterator.DISTINCT;
+    }
+
+    @Override
+    public void close() {
+        filtered.close();
+    }
+}
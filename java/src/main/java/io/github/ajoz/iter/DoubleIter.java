@@ -0,0 +1,104 @@
+package io.github.ajoz.iter;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/*
+ A primitive specialization of the Iter for double values, it works exactly
+ like the IntIter. See IntIter for the reasoning behind it.
+ */
+public interface DoubleIter {
+
+    boolean tryAdvance(DoubleConsumer action);
+
+    default DoubleIter map(final DoubleUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "Function passed to DoubleIter.map cannot be null!");
+        return new DoubleIters.MapDoubleIter(this, mapper);
+    }
+
+    default DoubleIter filter(final DoublePredicate predicate) {
+        Objects.requireNonNull(predicate, "Predicate passed to DoubleIter.filter cannot be null!");
+        return new DoubleIters.FilterDoubleIter(this, predicate);
+    }
+
+    default DoubleIter onEach(final DoubleConsumer action) {
+        Objects.requireNonNull(action, "Consumer passed to DoubleIter.onEach cannot be null!");
+        return new DoubleIters.OnEachDoubleIter(this, action);
+    }
+
+    default DoubleIter take(final int amount) {
+        return new DoubleIters.TakeDoubleIter(this, amount);
+    }
+
+    default <R> Iter<R> mapToObj(final DoubleFunction<? extends R> mapper) {
+        Objects.requireNonNull(mapper, "Function passed to DoubleIter.mapToObj cannot be null!");
+        return new DoubleIters.MapToObjIter<>(this, mapper);
+    }
+
+    // this is the only place where the values get boxed
+    default Iter<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    // this is a terminal operation
+    default void forEach(final DoubleConsumer action) {
+        Objects.requireNonNull(action, "Consumer passed to DoubleIter.forEach cannot be null!");
+        while (tryAdvance(action)) {
+            // the action already did all the work
+        }
+    }
+
+    // this is a terminal operation
+    default double sum() {
+        // summary statistics use a compensated summation, so the result is
+        // the same as the one from DoubleStream.sum
+        return summaryStatistics().getSum();
+    }
+
+    // this is a terminal operation
+    default OptionalDouble min() {
+        final DoubleSummaryStatistics statistics = summaryStatistics();
+        return statistics.getCount() == 0
+                ? OptionalDouble.empty()
+                : OptionalDouble.of(statistics.getMin());
+    }
+
+    // this is a terminal operation
+    default OptionalDouble max() {
+        final DoubleSummaryStatistics statistics = summaryStatistics();
+        return statistics.getCount() == 0
+                ? OptionalDouble.empty()
+                : OptionalDouble.of(statistics.getMax());
+    }
+
+    // this is a terminal operation
+    default DoubleSummaryStatistics summaryStatistics() {
+        final DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        forEach(statistics);
+        return statistics;
+    }
+
+    // this is a terminal operation
+    default double[] toArray() {
+        return DoubleIters.toArray(this);
+    }
+
+    static DoubleIter from(final double... values) {
+        Objects.requireNonNull(values, "Array passed to DoubleIter.from cannot be null!");
+        return new DoubleIters.ArrayDoubleIter(values);
+    }
+
+    static DoubleIter from(final double seed, final DoubleUnaryOperator generator) {
+        Objects.requireNonNull(generator, "Generator function passed to DoubleIter.from cannot be null!");
+        return new DoubleIters.SeedDoubleIter(seed, generator);
+    }
+
+    static DoubleIter empty() {
+        return action -> false;
+    }
+}
@@ -0,0 +1,244 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+
+/*
+ Implementations of the DoubleIter operators, the same as the ones in IntIters.
+ */
+final class DoubleIters {
+    private DoubleIters() {
+    }
+
+    static double[] toArray(final DoubleIter iter) {
+        final DoubleArrayBuilder builder = new DoubleArrayBuilder();
+        iter.forEach(builder);
+        return builder.build();
+    }
+
+    private static final class DoubleArrayBuilder implements DoubleConsumer {
+        private double[] values = new double[16];
+        private int size;
+
+        @Override
+        public void accept(final double value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        double[] build() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    static final class ArrayDoubleIter implements DoubleIter {
+        private final double[] array;
+        private int current;
+
+        ArrayDoubleIter(final double[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action) {
+            if (current >= array.length)
+                return false;
+
+            action.accept(array[current++]);
+            return true;
+        }
+    }
+
+    static final class SeedDoubleIter implements DoubleIter {
+        private final DoubleUnaryOperator generator;
+        private double seed;
+        private boolean started;
+
+        SeedDoubleIter(final double seed,
+                    final DoubleUnaryOperator generator) {
+            this.seed = seed;
+            this.generator = generator;
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action) {
+            // same as in Seed1Iter, the next value is generated only when
+            // it is asked for
+            if (started)
+                seed = generator.applyAsDouble(seed);
+            else
+                started = true;
+            action.accept(seed);
+            return true;
+        }
+    }
+
+    static final class MapDoubleIter implements DoubleIter {
+        private final DoubleIter upstream;
+        private final DoubleUnaryOperator mapper;
+        private final DoubleConsumer sink = this::push;
+        private DoubleConsumer downstream;
+
+        MapDoubleIter(final DoubleIter upstream,
+                   final DoubleUnaryOperator mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final double value) {
+            downstream.accept(mapper.applyAsDouble(value));
+        }
+    }
+
+    static final class FilterDoubleIter implements DoubleIter {
+        private final DoubleIter upstream;
+        private final DoublePredicate predicate;
+        private final DoubleConsumer sink = this::push;
+        private DoubleConsumer downstream;
+        private boolean matched;
+
+        FilterDoubleIter(final DoubleIter upstream,
+                      final DoublePredicate predicate) {
+            this.upstream = upstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action) {
+            downstream = action;
+            matched = false;
+            while (!matched) {
+                if (!upstream.tryAdvance(sink))
+                    return false;
+            }
+            return true;
+        }
+
+        private void push(final double value) {
+            if (predicate.test(value)) {
+                matched = true;
+                downstream.accept(value);
+            }
+        }
+    }
+
+    static final class OnEachDoubleIter implements DoubleIter {
+        private final DoubleIter upstream;
+        private final DoubleConsumer action;
+        private final DoubleConsumer sink = this::push;
+        private DoubleConsumer downstream;
+
+        OnEachDoubleIter(final DoubleIter upstream,
+                      final DoubleConsumer action) {
+            this.upstream = upstream;
+            this.action = action;
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final double value) {
+            action.accept(value);
+            downstream.accept(value);
+        }
+    }
+
+    static final class TakeDoubleIter implements DoubleIter {
+        private final DoubleIter upstream;
+        private final int amount;
+        private int taken;
+
+        TakeDoubleIter(final DoubleIter upstream,
+                    final int amount) {
+            this.upstream = upstream;
+            this.amount = amount;
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action) {
+            if (taken >= amount)
+                return false;
+
+            if (!upstream.tryAdvance(action))
+                return false;
+
+            taken++;
+            return true;
+        }
+    }
+
+    // from the object world to the primitive world
+    static final class MapToDoubleIter<T> implements DoubleIter {
+        private final Iter<T> upstream;
+        private final ToDoubleFunction<? super T> mapper;
+        private final Consumer<T> sink = this::push;
+        private DoubleConsumer downstream;
+
+        MapToDoubleIter(final Iter<T> upstream,
+                     final ToDoubleFunction<? super T> mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final T value) {
+            downstream.accept(mapper.applyAsDouble(value));
+        }
+    }
+
+    // from the primitive world back to the object world
+    static final class MapToObjIter<R> implements Iter<R> {
+        private final DoubleIter upstream;
+        private final DoubleFunction<? extends R> mapper;
+        private final DoubleConsumer sink = this::push;
+        private Consumer<? super R> downstream;
+
+        MapToObjIter(final DoubleIter upstream,
+                     final DoubleFunction<? extends R> mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public Try<R> next() {
+            final Object[] next = new Object[1];
+            if (!tryAdvance(value -> next[0] = value))
+                return EndOfIter.failure();
+
+            @SuppressWarnings("unchecked") final R value = (R) next[0];
+            return Try.success(value);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super R> action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final double value) {
+            downstream.accept(mapper.apply(value));
+        }
+    }
+}
@@ -2,11 +2,27 @@ package io.github.ajoz.iter;
 
 import io.github.ajoz.util.Try;
 
-import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public final class EmptyIter<T> implements Iter<T> {
     @Override
     public Try<T> next() {
-        return Try.failure(new NoSuchElementException("Empty sequence does not have a next element!"));
+        return EndOfIter.failure();
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        return false;
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        return 0;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.SIZED | Spliterator.SUBSIZED;
     }
 }
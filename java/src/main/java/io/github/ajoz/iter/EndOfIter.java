@@ -0,0 +1,34 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.NoSuchElementException;
+
+/*
+ Reaching the end of an Iter is not exceptional, every finite Iter gets there.
+ Still next() needs to return a Failure with some Throwable in it. Creating a
+ new exception each time means filling in its stack trace, which is by far
+ the most expensive part of it.
+
+ EndOfIter is an exception without a stack trace, so creating it costs only
+ the allocation. It is not shared: a Throwable cannot be made immutable here
+ (addSuppressed is final and NoSuchElementException has no constructor that
+ disables suppression), so a single instance would collect the suppressed
+ exceptions of every try-with-resources that ever rethrew it.
+ */
+final class EndOfIter extends NoSuchElementException {
+    private static final long serialVersionUID = 1L;
+
+    private EndOfIter() {
+        super("No more elements in this Iter!");
+    }
+
+    static <T> Try<T> failure() {
+        return Try.failure(new EndOfIter());
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -2,12 +2,20 @@ package io.github.ajoz.iter;
 
 import io.github.ajoz.util.Try;
 
+import java.util.Spliterator;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
-public final class FilterIter<T> implements Iter<T> {
+public final class FilterIter<T> implements Iter<T>, AutoCloseable {
     private final Iter<T> upstream;
     private final Predicate<? super T> predicate;
 
+    private final Consumer<T> sink = this::push;
+    private Consumer<? super T> downstream;
+    private boolean matched;
+
     public FilterIter(final Iter<T> upstream,
                       final Predicate<? super T> predicate) {
         this.upstream = upstream;
@@ -32,4 +40,56 @@ public final class FilterIter<T> implements Iter<T> {
             // try again
         } while (true);
     }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        downstream = action;
+        matched = false;
+        // keep pulling from upstream until an item satisfies the predicate
+        // or there are no more items upstream
+        while (!matched) {
+            if (!upstream.tryAdvance(sink))
+                return false;
+        }
+        return true;
+    }
+
+    // it is not known upfront how many elements will satisfy the predicate
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+    }
+
+    @Override
+    public void close() {
+        Iters.close(upstream);
+    }
+
+    // consecutive map, filter and onEach stages are fused into a single
+    // stage, see FusedIter for details
+    @Override
+    public <U> Iter<U> map(final Function<? super T, ? extends U> mapper) {
+        return fused().map(mapper);
+    }
+
+    @Override
+    public Iter<T> filter(final Predicate<? super T> predicate) {
+        return fused().filter(predicate);
+    }
+
+    @Override
+    public Iter<T> onEach(final Consumer<? super T> action) {
+        return fused().onEach(action);
+    }
+
+    private FusedIter<T, T> fused() {
+        return FusedIter.ofFilter(upstream, predicate);
+    }
+
+    private void push(final T value) {
+        if (predicate.test(value)) {
+            matched = true;
+            downstream.accept(value);
+        }
+    }
 }
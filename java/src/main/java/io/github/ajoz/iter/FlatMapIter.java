@@ -2,22 +2,77 @@ package io.github.ajoz.iter;
 
 import io.github.ajoz.util.Try;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+/*
+ For each element of the upstream the mapper gives an inner Iter. All the
+ elements of the inner Iter are returned before the next element is taken
+ from the upstream. Only the current inner Iter is kept, nothing is buffered,
+ and moving from one inner Iter to the next (even if some of them are empty)
+ is done in a loop, not with recursion.
+ */
 public final class FlatMapIter<T, R> implements Iter<R> {
     private final Iter<T> upstream;
     private final Function<? super T, ? extends Iter<? extends R>> mapper;
 
+    private final Consumer<T> open = this::open;
+    private Iter<? extends R> inner;
+
     public FlatMapIter(final Iter<T> upstream,
                        final Function<? super T, ? extends Iter<? extends R>> mapper) {
         this.upstream = upstream;
         this.mapper = mapper;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public Try<R> next() {
-        return upstream
-                .next()
-                .flatMap(t -> mapper.apply(t).next());
+        do {
+            if (inner != null) {
+                final Try<? extends R> next = inner.next();
+                if (next.isSuccess())
+                    return (Try<R>) next;
+                // the current inner Iter is exhausted
+                inner = null;
+            }
+
+            final Try<T> outer = upstream.next();
+            // if there is no more items upstream, then just return a failure
+            if (outer.isFailure())
+                return (Try<R>) outer;
+
+            open(outer.get());
+        } while (true);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+        do {
+            if (inner != null) {
+                if (inner.tryAdvance(action))
+                    return true;
+                // the current inner Iter is exhausted
+                inner = null;
+            }
+
+            if (!upstream.tryAdvance(open))
+                return false;
+        } while (true);
+    }
+
+    // each inner Iter is drained with its own forEach, for arrays and lists
+    // this is a plain loop over the elements
+    @Override
+    public void forEach(final Consumer<? super R> action) {
+        if (inner != null) {
+            inner.forEach(action);
+            inner = null;
+        }
+        upstream.forEach(value -> mapper.apply(value).forEach(action));
+    }
+
+    private void open(final T value) {
+        inner = mapper.apply(value);
     }
 }
@@ -0,0 +1,123 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/*
+ Each of the MapIter, FilterIter and OnEachIter is a separate object, so for a
+ chain like:
+
+ iter.map(f).filter(p).map(g).onEach(log)
+
+ every element needs to go through four Iters, each one calling the next one
+ through the Iter interface and each one creating its own Try.
+
+ FusedIter is a single stage that replaces such a chain of consecutive map,
+ filter and onEach stages. The operations are kept in FusedOperations and
+ applied one after another in a single loop.
+
+ All of the fused stages are stateless, so it does not matter that the fused
+ Iter pulls from the same upstream as the stages it replaces.
+ */
+final class FusedIter<T, R> implements Iter<R>, AutoCloseable {
+    private final Iter<T> upstream;
+    private final FusedOperations operations;
+
+    private final Consumer<T> sink = this::push;
+    private Consumer<? super R> downstream;
+    private boolean matched;
+
+    private FusedIter(final Iter<T> upstream,
+                      final FusedOperations operations) {
+        this.upstream = upstream;
+        this.operations = operations;
+    }
+
+    static <T, R> FusedIter<T, R> ofMap(final Iter<T> upstream,
+                                        final Function<? super T, ? extends R> mapper) {
+        return new FusedIter<>(upstream, FusedOperations.NONE.map(mapper));
+    }
+
+    static <T> FusedIter<T, T> ofFilter(final Iter<T> upstream,
+                                        final Predicate<? super T> predicate) {
+        return new FusedIter<>(upstream, FusedOperations.NONE.filter(predicate));
+    }
+
+    static <T> FusedIter<T, T> ofOnEach(final Iter<T> upstream,
+                                        final Consumer<? super T> action) {
+        return new FusedIter<>(upstream, FusedOperations.NONE.onEach(action));
+    }
+
+    @Override
+    public <U> Iter<U> map(final Function<? super R, ? extends U> mapper) {
+        Objects.requireNonNull(mapper, "Function passed to Iter.map cannot be null!");
+        return new FusedIter<>(upstream, operations.map(mapper));
+    }
+
+    @Override
+    public Iter<R> filter(final Predicate<? super R> predicate) {
+        Objects.requireNonNull(predicate, "Predicate passed to Iter.filter cannot be null!");
+        return new FusedIter<>(upstream, operations.filter(predicate));
+    }
+
+    @Override
+    public Iter<R> onEach(final Consumer<? super R> action) {
+        Objects.requireNonNull(action, "Consumer passed to Iter.onEach cannot be null!");
+        return new FusedIter<>(upstream, operations.onEach(action));
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        return operations.keepsSize() ? upstream.exactSizeIfKnown() : -1;
+    }
+
+    @Override
+    public int characteristics() {
+        return operations.characteristics(upstream.characteristics());
+    }
+
+    @Override
+    public void close() {
+        Iters.close(upstream);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Try<R> next() {
+        do {
+            final Try<T> next = upstream.next();
+            // a failure does not hold any value, so it is safe to pass it
+            // further as a Try of a different type
+            if (next.isFailure())
+                return (Try<R>) next;
+
+            final Object result = operations.apply(next.get());
+            if (result != FusedOperations.SKIP)
+                return Try.success((R) result);
+        } while (true);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+        downstream = action;
+        matched = false;
+        while (!matched) {
+            if (!upstream.tryAdvance(sink))
+                return false;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void push(final T value) {
+        final Object result = operations.apply(value);
+        if (result != FusedOperations.SKIP) {
+            matched = true;
+            downstream.accept((R) result);
+        }
+    }
+}
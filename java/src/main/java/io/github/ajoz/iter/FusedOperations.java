@@ -0,0 +1,131 @@
+package io.github.ajoz.iter;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/*
+ An immutable list of map, filter and onEach operations that are applied to
+ an element one after another in a single loop. This is the heart of the
+ FusedIter, but it does not depend on where the elements come from, so it is
+ also used by the ParallelIter to run the operations on the fork-join tasks.
+
+ Adjacent operations of the same kind are combined when they are added:
+
+ - map(f).map(g) becomes a single map(f.andThen(g))
+ - filter(p).filter(q) becomes a single filter(p.and(q))
+ - onEach(a).onEach(b) becomes a single onEach(a.andThen(b))
+ */
+final class FusedOperations {
+    // returned by apply when one of the filters rejected the element
+    static final Object SKIP = new Object();
+
+    static final FusedOperations NONE = new FusedOperations(new int[0], new Object[0]);
+
+    private static final int MAP = 0;
+    private static final int FILTER = 1;
+    private static final int ON_EACH = 2;
+
+    private final int[] kinds;
+    private final Object[] operations;
+
+    private FusedOperations(final int[] kinds,
+                            final Object[] operations) {
+        this.kinds = kinds;
+        this.operations = operations;
+    }
+
+    @SuppressWarnings("unchecked")
+    FusedOperations map(final Function<?, ?> mapper) {
+        if (lastKind() == MAP) {
+            final Function<Object, Object> last = (Function<Object, Object>) last();
+            return replaceLast(last.andThen((Function<Object, Object>) mapper));
+        }
+        return append(MAP, mapper);
+    }
+
+    @SuppressWarnings("unchecked")
+    FusedOperations filter(final Predicate<?> predicate) {
+        if (lastKind() == FILTER) {
+            final Predicate<Object> last = (Predicate<Object>) last();
+            return replaceLast(last.and((Predicate<Object>) predicate));
+        }
+        return append(FILTER, predicate);
+    }
+
+    @SuppressWarnings("unchecked")
+    FusedOperations onEach(final Consumer<?> action) {
+        if (lastKind() == ON_EACH) {
+            final Consumer<Object> last = (Consumer<Object>) last();
+            return replaceLast(last.andThen((Consumer<Object>) action));
+        }
+        return append(ON_EACH, action);
+    }
+
+    // only a filter can change the number of elements
+    boolean keepsSize() {
+        for (final int kind : kinds) {
+            if (kind == FILTER)
+                return false;
+        }
+        return true;
+    }
+
+    // a filter drops the size, a map drops everything that is known about
+    // the values themselves
+    int characteristics(final int upstream) {
+        int characteristics = upstream;
+        for (final int kind : kinds) {
+            if (kind == FILTER)
+                characteristics &= ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+            else if (kind == MAP)
+                characteristics &= ~(Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL);
+        }
+        return characteristics;
+    }
+
+    // returns the result of all the operations or SKIP if the value was
+    // rejected by one of the filters
+    @SuppressWarnings("unchecked")
+    Object apply(final Object value) {
+        Object current = value;
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case MAP:
+                    current = ((Function<Object, Object>) operations[i]).apply(current);
+                    break;
+                case FILTER:
+                    if (!((Predicate<Object>) operations[i]).test(current))
+                        return SKIP;
+                    break;
+                default:
+                    ((Consumer<Object>) operations[i]).accept(current);
+            }
+        }
+        return current;
+    }
+
+    private int lastKind() {
+        return kinds.length == 0 ? -1 : kinds[kinds.length - 1];
+    }
+
+    private Object last() {
+        return operations[operations.length - 1];
+    }
+
+    private FusedOperations append(final int kind, final Object operation) {
+        final int[] newKinds = Arrays.copyOf(kinds, kinds.length + 1);
+        final Object[] newOperations = Arrays.copyOf(operations, operations.length + 1);
+        newKinds[kinds.length] = kind;
+        newOperations[operations.length] = operation;
+        return new FusedOperations(newKinds, newOperations);
+    }
+
+    private FusedOperations replaceLast(final Object operation) {
+        final Object[] newOperations = operations.clone();
+        newOperations[operations.length - 1] = operation;
+        return new FusedOperations(kinds, newOperations);
+    }
+}
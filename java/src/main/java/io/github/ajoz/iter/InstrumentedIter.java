@@ -0,0 +1,158 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.lang.management.ManagementFactory;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/*
+ Passes the elements of the upstream through and reports them to the
+ StageMetrics, see Iter.instrument.
+
+ For a sampled element the time and the allocated bytes are measured only
+ around the pull from the upstream. With tryAdvance the element is put into
+ a field first and given to the downstream action after the measurement, so
+ the work done downstream is not counted for the stages upstream.
+
+ Only the failures this stage can see are counted: a Failure returned by
+ next, and an exception thrown from the upstream by either next or
+ tryAdvance. A Failure returned by an Iter upstream ends its tryAdvance
+ the same way the end does, so when the pipeline is pulled with tryAdvance
+ (forEach, toList and the other terminal operations) such a failure is not
+ counted.
+ */
+public final class InstrumentedIter<T> implements Iter<T>, AutoCloseable {
+    private final Iter<T> upstream;
+    private final StageMetrics metrics;
+    private final int samplingInterval;
+    private int untilSample;
+
+    private final Consumer<T> sink = this::keep;
+    private T next;
+
+    public InstrumentedIter(final Iter<T> upstream,
+                            final StageMetrics metrics,
+                            final int samplingInterval) {
+        this.upstream = upstream;
+        this.metrics = metrics;
+        this.samplingInterval = samplingInterval;
+        this.untilSample = samplingInterval;
+    }
+
+    @Override
+    public Try<T> next() {
+        final Try<T> next;
+        if (--untilSample == 0) {
+            untilSample = samplingInterval;
+            final long bytes = Allocation.current();
+            final long start = System.nanoTime();
+            next = pull();
+            final long nanos = System.nanoTime() - start;
+            metrics.sample(nanos, bytes < 0 ? -1 : Allocation.current() - bytes);
+        } else {
+            next = pull();
+        }
+
+        if (next.isSuccess()) {
+            metrics.element();
+        } else {
+            next.ifFailure(this::failed);
+        }
+        return next;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        final boolean advanced;
+        if (--untilSample == 0) {
+            untilSample = samplingInterval;
+            final long bytes = Allocation.current();
+            final long start = System.nanoTime();
+            advanced = advance();
+            final long nanos = System.nanoTime() - start;
+            metrics.sample(nanos, bytes < 0 ? -1 : Allocation.current() - bytes);
+        } else {
+            advanced = advance();
+        }
+
+        if (!advanced)
+            return false;
+
+        metrics.element();
+        final T value = next;
+        next = null;
+        action.accept(value);
+        return true;
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        return upstream.exactSizeIfKnown();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics();
+    }
+
+    @Override
+    public void close() {
+        Iters.close(upstream);
+    }
+
+    private Try<T> pull() {
+        try {
+            return upstream.next();
+        } catch (final RuntimeException exc) {
+            metrics.failure(exc);
+            throw exc;
+        }
+    }
+
+    private boolean advance() {
+        try {
+            return upstream.tryAdvance(sink);
+        } catch (final RuntimeException exc) {
+            metrics.failure(exc);
+            throw exc;
+        }
+    }
+
+    private void failed(final Throwable failure) {
+        if (!(failure instanceof NoSuchElementException))
+            metrics.failure(failure);
+    }
+
+    private void keep(final T value) {
+        next = value;
+    }
+
+    /*
+     The bytes allocated by a thread are counted by HotSpot (and the JVMs
+     based on it), but they are available only through the com.sun.management
+     extension of the ThreadMXBean. On a JVM without it the allocation is not
+     measured.
+     */
+    private static final class Allocation {
+        private static final com.sun.management.ThreadMXBean BEAN = bean();
+
+        private static com.sun.management.ThreadMXBean bean() {
+            try {
+                final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean) {
+                    final com.sun.management.ThreadMXBean extended = (com.sun.management.ThreadMXBean) bean;
+                    if (extended.isThreadAllocatedMemorySupported() && extended.isThreadAllocatedMemoryEnabled())
+                        return extended;
+                }
+            } catch (final LinkageError | RuntimeException ignored) {
+                // the extension is not there
+            }
+            return null;
+        }
+
+        static long current() {
+            return BEAN == null ? -1 : BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
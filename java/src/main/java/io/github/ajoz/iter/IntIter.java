@@ -0,0 +1,113 @@
+package io.github.ajoz.iter;
+
+import java.util.IntSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/*
+ Iter<T> can only work with objects, so an Iter of numbers boxes each number
+ when it is created (for example in Seed1Iter) and then once more when it is
+ wrapped in a Try. IntIter is a primitive specialization of the Iter, the same
+ way IntStream is a primitive specialization of the Stream.
+
+ There is no next() returning a Try here, as it would need to box the value.
+ The only way of stepping through an IntIter is tryAdvance, which pushes the
+ primitive value into an IntConsumer and tells if there was a value at all.
+
+ Switching between the object world and the primitive world is possible with
+ Iter.mapToInt and IntIter.mapToObj or IntIter.boxed.
+ */
+public interface IntIter {
+
+    boolean tryAdvance(IntConsumer action);
+
+    default IntIter map(final IntUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "Function passed to IntIter.map cannot be null!");
+        return new IntIters.MapIntIter(this, mapper);
+    }
+
+    default IntIter filter(final IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "Predicate passed to IntIter.filter cannot be null!");
+        return new IntIters.FilterIntIter(this, predicate);
+    }
+
+    default IntIter onEach(final IntConsumer action) {
+        Objects.requireNonNull(action, "Consumer passed to IntIter.onEach cannot be null!");
+        return new IntIters.OnEachIntIter(this, action);
+    }
+
+    default IntIter take(final int amount) {
+        return new IntIters.TakeIntIter(this, amount);
+    }
+
+    default <R> Iter<R> mapToObj(final IntFunction<? extends R> mapper) {
+        Objects.requireNonNull(mapper, "Function passed to IntIter.mapToObj cannot be null!");
+        return new IntIters.MapToObjIter<>(this, mapper);
+    }
+
+    // this is the only place where the values get boxed
+    default Iter<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    // this is a terminal operation
+    default void forEach(final IntConsumer action) {
+        Objects.requireNonNull(action, "Consumer passed to IntIter.forEach cannot be null!");
+        while (tryAdvance(action)) {
+            // the action already did all the work
+        }
+    }
+
+    // this is a terminal operation
+    default int sum() {
+        final int[] sum = {0};
+        forEach(value -> sum[0] += value);
+        return sum[0];
+    }
+
+    // this is a terminal operation
+    default OptionalInt min() {
+        final IntSummaryStatistics statistics = summaryStatistics();
+        return statistics.getCount() == 0
+                ? OptionalInt.empty()
+                : OptionalInt.of(statistics.getMin());
+    }
+
+    // this is a terminal operation
+    default OptionalInt max() {
+        final IntSummaryStatistics statistics = summaryStatistics();
+        return statistics.getCount() == 0
+                ? OptionalInt.empty()
+                : OptionalInt.of(statistics.getMax());
+    }
+
+    // this is a terminal operation
+    default IntSummaryStatistics summaryStatistics() {
+        final IntSummaryStatistics statistics = new IntSummaryStatistics();
+        forEach(statistics);
+        return statistics;
+    }
+
+    // this is a terminal operation
+    default int[] toArray() {
+        return IntIters.toArray(this);
+    }
+
+    static IntIter from(final int... values) {
+        Objects.requireNonNull(values, "Array passed to IntIter.from cannot be null!");
+        return new IntIters.ArrayIntIter(values);
+    }
+
+    static IntIter from(final int seed, final IntUnaryOperator generator) {
+        Objects.requireNonNull(generator, "Generator function passed to IntIter.from cannot be null!");
+        return new IntIters.SeedIntIter(seed, generator);
+    }
+
+    static IntIter empty() {
+        return action -> false;
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+/*
+ Implementations of the IntIter operators. They follow the Iter ones (ArrayIter,
+ Seed1Iter, MapIter, ...) but work on ints, so not a single value gets boxed.
+ Each stage creates its sink only once, so pulling values does not allocate.
+ */
+final class IntIters {
+    private IntIters() {
+    }
+
+    static int[] toArray(final IntIter iter) {
+        final IntArrayBuilder builder = new IntArrayBuilder();
+        iter.forEach(builder);
+        return builder.build();
+    }
+
+    private static final class IntArrayBuilder implements IntConsumer {
+        private int[] values = new int[16];
+        private int size;
+
+        @Override
+        public void accept(final int value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] build() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    static final class ArrayIntIter implements IntIter {
+        private final int[] array;
+        private int current;
+
+        ArrayIntIter(final int[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            if (current >= array.length)
+                return false;
+
+            action.accept(array[current++]);
+            return true;
+        }
+    }
+
+    static final class SeedIntIter implements IntIter {
+        private final IntUnaryOperator generator;
+        private int seed;
+        private boolean started;
+
+        SeedIntIter(final int seed,
+                    final IntUnaryOperator generator) {
+            this.seed = seed;
+            this.generator = generator;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            // same as in Seed1Iter, the next value is generated only when
+            // it is asked for
+            if (started)
+                seed = generator.applyAsInt(seed);
+            else
+                started = true;
+            action.accept(seed);
+            return true;
+        }
+    }
+
+    static final class MapIntIter implements IntIter {
+        private final IntIter upstream;
+        private final IntUnaryOperator mapper;
+        private final IntConsumer sink = this::push;
+        private IntConsumer downstream;
+
+        MapIntIter(final IntIter upstream,
+                   final IntUnaryOperator mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final int value) {
+            downstream.accept(mapper.applyAsInt(value));
+        }
+    }
+
+    static final class FilterIntIter implements IntIter {
+        private final IntIter upstream;
+        private final IntPredicate predicate;
+        private final IntConsumer sink = this::push;
+        private IntConsumer downstream;
+        private boolean matched;
+
+        FilterIntIter(final IntIter upstream,
+                      final IntPredicate predicate) {
+            this.upstream = upstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            downstream = action;
+            matched = false;
+            while (!matched) {
+                if (!upstream.tryAdvance(sink))
+                    return false;
+            }
+            return true;
+        }
+
+        private void push(final int value) {
+            if (predicate.test(value)) {
+                matched = true;
+                downstream.accept(value);
+            }
+        }
+    }
+
+    static final class OnEachIntIter implements IntIter {
+        private final IntIter upstream;
+        private final IntConsumer action;
+        private final IntConsumer sink = this::push;
+        private IntConsumer downstream;
+
+        OnEachIntIter(final IntIter upstream,
+                      final IntConsumer action) {
+            this.upstream = upstream;
+            this.action = action;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final int value) {
+            action.accept(value);
+            downstream.accept(value);
+        }
+    }
+
+    static final class TakeIntIter implements IntIter {
+        private final IntIter upstream;
+        private final int amount;
+        private int taken;
+
+        TakeIntIter(final IntIter upstream,
+                    final int amount) {
+            this.upstream = upstream;
+            this.amount = amount;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            if (taken >= amount)
+                return false;
+
+            if (!upstream.tryAdvance(action))
+                return false;
+
+            taken++;
+            return true;
+        }
+    }
+
+    // from the object world to the primitive world
+    static final class MapToIntIter<T> implements IntIter {
+        private final Iter<T> upstream;
+        private final ToIntFunction<? super T> mapper;
+        private final Consumer<T> sink = this::push;
+        private IntConsumer downstream;
+
+        MapToIntIter(final Iter<T> upstream,
+                     final ToIntFunction<? super T> mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final T value) {
+            downstream.accept(mapper.applyAsInt(value));
+        }
+    }
+
+    // from the primitive world back to the object world
+    static final class MapToObjIter<R> implements Iter<R> {
+        private final IntIter upstream;
+        private final IntFunction<? extends R> mapper;
+        private final IntConsumer sink = this::push;
+        private Consumer<? super R> downstream;
+
+        MapToObjIter(final IntIter upstream,
+                     final IntFunction<? extends R> mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public Try<R> next() {
+            final Object[] next = new Object[1];
+            if (!tryAdvance(value -> next[0] = value))
+                return EndOfIter.failure();
+
+            @SuppressWarnings("unchecked") final R value = (R) next[0];
+            return Try.success(value);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super R> action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final int value) {
+            downstream.accept(mapper.apply(value));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ Takes one element from each Iter in turn (round-robin). An Iter that has
+ ended is removed from the turn and the rest continue without it, so the
+ InterleaveIter ends when all the Iters have ended.
+ */
+public final class InterleaveIter<T> implements Iter<T> {
+    private final Iter<? extends T>[] iters;
+    // the Iters that have not ended are kept at the beginning of the array
+    private int active;
+    private int current;
+
+    public InterleaveIter(final Iter<? extends T>[] iters) {
+        this.iters = iters;
+        this.active = iters.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Try<T> next() {
+        Try<T> next = EndOfIter.failure();
+        while (active > 0) {
+            next = (Try<T>) iters[current].next();
+            if (next.isSuccess()) {
+                turn();
+                return next;
+            }
+            remove();
+        }
+        // the failure of the last Iter that ended
+        return next;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        while (active > 0) {
+            if (iters[current].tryAdvance(action)) {
+                turn();
+                return true;
+            }
+            remove();
+        }
+        return false;
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        long size = 0;
+        for (int i = 0; i < active; i++) {
+            final long iterSize = iters[i].exactSizeIfKnown();
+            if (iterSize < 0)
+                return -1;
+            size += iterSize;
+            if (size < 0)
+                return -1;
+        }
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return exactSizeIfKnown() < 0
+                ? Spliterator.ORDERED
+                : Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    private void turn() {
+        current = current + 1 == active ? 0 : current + 1;
+    }
+
+    // the Iters after the removed one move one place to the left, so the
+    // turn goes on in the same order
+    private void remove() {
+        System.arraycopy(iters, current + 1, iters, current, active - current - 1);
+        iters[--active] = null;
+        if (current == active)
+            current = 0;
+    }
+}
@@ -2,12 +2,37 @@ package io.github.ajoz.iter;
 
 import io.github.ajoz.util.Try;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /*
  This is an example of a Iterator<T> without the need for specialized hasNext
@@ -38,21 +63,141 @@ public interface Iter<T> extends Iterable<T> {
 
     Try<T> next();
 
+    /*
+     The second way of traversing an Iter. Instead of returning a Try for each
+     element, the element is pushed into the given action and the result only
+     tells if there was an element at all. This is the same idea that is used
+     by the Spliterator from the Stream API.
+
+     Neither a Try.Success per element nor a Try.Failure (with a freshly
+     created exception) at the end of the Iter is needed, so hot loops over
+     a long Iter do not produce any garbage.
+
+     By default it is implemented in terms of next(), so every Iter supports
+     it, but the basic Iters override it with a native implementation.
+
+     A stage that has to see the elements passing through it keeps a sink,
+     a Consumer created once with the stage, and the action of the current
+     call in a field. Passing a lambda capturing the action instead would
+     allocate one for every pulled element.
+     */
+    default boolean tryAdvance(final Consumer<? super T> action) {
+        Objects.requireNonNull(action, "Consumer passed to Iter.tryAdvance cannot be null!");
+        final Try<T> next = next();
+        next.ifSuccess(action);
+        return next.isSuccess();
+    }
+
     default <R> Iter<R> map(final Function<? super T, ? extends R> mapper) {
         Objects.requireNonNull(mapper, "Function passed to Iter.map cannot be null!");
         return new MapIter<>(this, mapper);
     }
 
+    /*
+     Pulls up to max elements at once into the buffer (starting at index 0)
+     and returns how many were pulled. Fewer than max elements are returned
+     only if there are no more elements in the Iter, so 0 means the end.
+
+     By default it is a loop over tryAdvance, but sources that hold their
+     elements in an array or a list copy them in bulk.
+
+     The buffer is an Object[] and not a T[]: the stages pulling batches use
+     arrays of their own, which cannot be created with the runtime type of T.
+     */
+    default int nextBatch(final int max, final Object[] buffer) {
+        Iters.checkBatch(max, buffer);
+        final Iters.BatchSink sink = new Iters.BatchSink(buffer);
+        while (sink.count < max && tryAdvance(sink)) {
+            // the sink already stored the element
+        }
+        return sink.count;
+    }
+
+    /*
+     The number of elements that are left in this Iter, or -1 if the Iter
+     does not know it (because of a filter, an infinite source or an Iterator
+     that is only able to tell if there is a next element).
+     */
+    default long exactSizeIfKnown() {
+        return -1;
+    }
+
+    /*
+     The same characteristics as the ones of a Spliterator. Every Iter is
+     ORDERED, SIZED and SUBSIZED are set only together with a non negative
+     exactSizeIfKnown.
+     */
+    default int characteristics() {
+        return Spliterator.ORDERED;
+    }
+
+    // the primitive versions of map, from here on the values are not boxed
+    default IntIter mapToInt(final ToIntFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "Function passed to Iter.mapToInt cannot be null!");
+        return new IntIters.MapToIntIter<>(this, mapper);
+    }
+
+    default LongIter mapToLong(final ToLongFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "Function passed to Iter.mapToLong cannot be null!");
+        return new LongIters.MapToLongIter<>(this, mapper);
+    }
+
+    default DoubleIter mapToDouble(final ToDoubleFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "Function passed to Iter.mapToDouble cannot be null!");
+        return new DoubleIters.MapToDoubleIter<>(this, mapper);
+    }
+
     default <R> Iter<R> flatMap(final Function<? super T, ? extends Iter<? extends R>> mapper) {
         Objects.requireNonNull(mapper, "Function passed to Iter.flatMap cannot be null!");
         return new FlatMapIter<>(this, mapper);
     }
 
+    // inner Lists with fast random access are indexed directly, see ListIter
+    default <R> Iter<R> flatMapIterable(final Function<? super T, ? extends Iterable<? extends R>> mapper) {
+        Objects.requireNonNull(mapper, "Function passed to Iter.flatMapIterable cannot be null!");
+        return new FlatMapIter<>(this, value -> Iter.fromIterable(mapper.apply(value)));
+    }
+
     default Iter<T> filter(final Predicate<? super T> predicate) {
         Objects.requireNonNull(predicate, "Predicate passed to Iter.filter cannot be null!");
         return new FilterIter<>(this, predicate);
     }
 
+    // the last chunk might be smaller than the size
+    default Iter<List<T>> chunked(final int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Size passed to Iter.chunked needs to be positive!");
+        return new ChunkedIter<>(this, size);
+    }
+
+    // only full windows are returned, the elements at the end that do not
+    // fill a whole window are dropped
+    default Iter<List<T>> windowed(final int size, final int step) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Size passed to Iter.windowed needs to be positive!");
+        if (step <= 0)
+            throw new IllegalArgumentException("Step passed to Iter.windowed needs to be positive!");
+        return new WindowedIter<>(this, size, step);
+    }
+
+    // pairs the elements of this and the other Iter, it ends with the
+    // shorter one
+    default <U, R> Iter<R> zip(final Iter<U> other, final BiFunction<? super T, ? super U, ? extends R> zipper) {
+        Objects.requireNonNull(other, "Iter passed to Iter.zip cannot be null!");
+        Objects.requireNonNull(zipper, "Function passed to Iter.zip cannot be null!");
+        return new ZipIter<>(this, other, zipper);
+    }
+
+    // the elements are remembered in a HashSet, see SeenSet
+    default Iter<T> distinct() {
+        return new DistinctIter<>(this, SeenSet.hashed());
+    }
+
+    default Iter<T> distinct(final SeenSet<? super T> seen) {
+        Objects.requireNonNull(seen, "SeenSet passed to Iter.distinct cannot be null!");
+        return new DistinctIter<>(this, seen);
+    }
+
     default Iter<T> onEach(final Consumer<? super T> action) {
         Objects.requireNonNull(action, "Consumer passed to Iter.onEach cannot be null!");
         return new OnEachIter<>(this, action);
@@ -64,15 +209,165 @@ public interface Iter<T> extends Iterable<T> {
         return new TakeIter<>(this, amount);
     }
 
-    // this is a terminal operation
+    /*
+     Returns the given number of independent Iters over the elements of this
+     Iter, which is pulled only once. The elements are buffered until the
+     slowest of the returned Iters reads them, so an Iter that is not read at
+     all keeps all the elements in the memory. The returned Iters can be read
+     from different threads (each by one thread at a time), the upstream is
+     then pulled by one of them at a time. See SharedBuffer.
+     */
+    default List<Iter<T>> share(final int consumers) {
+        if (consumers <= 0)
+            throw new IllegalArgumentException("Number of consumers passed to Iter.share needs to be positive!");
+
+        final SharedBuffer<T> buffer = new SharedBuffer<>(this);
+        final List<Iter<T>> iters = new ArrayList<>(consumers);
+        for (int i = 0; i < consumers; i++) {
+            iters.add(new SharedIter<>(buffer, buffer.tail()));
+        }
+        return iters;
+    }
+
+    /*
+     Sorts the elements with the given Comparator, spilling them into
+     temporary files if there are more than config.runSize of them, see
+     SortedIter. The returned Iter should be closed if it is not read to the
+     end, so the files are deleted.
+     */
+    default SortedIter<T> sorted(final Comparator<? super T> comparator, final SpillConfig<T> config) {
+        Objects.requireNonNull(comparator, "Comparator passed to Iter.sorted cannot be null!");
+        Objects.requireNonNull(config, "SpillConfig passed to Iter.sorted cannot be null!");
+        return new SortedIter<>(this, comparator, config);
+    }
+
+    // remembers the elements of this Iter, so they can be read again with
+    // CachedIter.replay, the replays can be read from other threads
+    default CachedIter<T> cache() {
+        return new CachedIter<>(this);
+    }
+
+    /*
+     Reports the elements of this Iter (and the failures, the time and the
+     allocation of pulling them) to the stage with the given name, see
+     InstrumentedIter and IterMetrics. For IterMetrics.noop this Iter is
+     returned as it is, so a disabled instrument costs nothing.
+     */
+    default Iter<T> instrument(final String stageName, final IterMetrics metrics) {
+        Objects.requireNonNull(stageName, "Stage name passed to Iter.instrument cannot be null!");
+        Objects.requireNonNull(metrics, "IterMetrics passed to Iter.instrument cannot be null!");
+        if (metrics == IterMetrics.noop())
+            return this;
+        return new InstrumentedIter<>(this, metrics.stage(stageName), metrics.samplingInterval());
+    }
+
+    /*
+     Pulls this Iter on a separate thread into a buffer of the given capacity,
+     see PrefetchIter. The returned Iter should be closed if it is not read to
+     the end (a take does that on its own).
+     */
+    default PrefetchIter<T> prefetch(final int capacity) {
+        return prefetch(capacity, PrefetchIter.defaultThreadFactory());
+    }
+
+    default PrefetchIter<T> prefetch(final int capacity, final ThreadFactory threadFactory) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity passed to Iter.prefetch needs to be positive!");
+        Objects.requireNonNull(threadFactory, "ThreadFactory passed to Iter.prefetch cannot be null!");
+        return new PrefetchIter<>(this, capacity, threadFactory);
+    }
+
+    /*
+     Switches the pipeline to the parallel mode, the map and filter stages
+     added after it run on the common ForkJoinPool. Everything else about the
+     Iter stays single threaded, this has to be asked for explicitly: the
+     stages added before it are pulled one element at a time, as the source
+     is split, even though that might happen on a thread of the pool.
+     */
+    default ParallelIter<T> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    default ParallelIter<T> parallel(final ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "Pool passed to Iter.parallel cannot be null!");
+        return new ParallelIter<>(spliterator(), FusedOperations.NONE, pool);
+    }
+
+    // this is a terminal operation, it returns an ArrayList
     default List<T> toList() {
         return Iters.toList(this);
     }
 
+    // this is a terminal operation
+    default ArrayList<T> toArrayList() {
+        return Iters.toArrayList(this);
+    }
+
+    // this is a terminal operation
+    default T[] toArray(final IntFunction<T[]> generator) {
+        Objects.requireNonNull(generator, "Generator passed to Iter.toArray cannot be null!");
+        return Iters.toArray(this, generator);
+    }
+
+    // this is a terminal operation
+    default List<T> toImmutableList() {
+        return Iters.toImmutableList(this);
+    }
+
+    // this is a terminal operation
+    default <A, R> R collect(final Collector<? super T, A, R> collector) {
+        Objects.requireNonNull(collector, "Collector passed to Iter.collect cannot be null!");
+        return Iters.collect(this, collector);
+    }
+
+    // this is a terminal operation, the groups keep the order in which
+    // their keys first appeared
+    default <K> Map<K, List<T>> groupBy(final Function<? super T, ? extends K> classifier) {
+        Objects.requireNonNull(classifier, "Classifier passed to Iter.groupBy cannot be null!");
+        return Iters.groupBy(this, classifier);
+    }
+
+    // this is a terminal operation
+    default <K> Counts<K> countBy(final Function<? super T, ? extends K> classifier) {
+        Objects.requireNonNull(classifier, "Classifier passed to Iter.countBy cannot be null!");
+        return Iters.countBy(this, classifier);
+    }
+
+    // the elements are pulled on the common ForkJoinPool, see IterPublisher
+    default Flow.Publisher<T> toPublisher() {
+        return toPublisher(ForkJoinPool.commonPool());
+    }
+
+    default Flow.Publisher<T> toPublisher(final Executor executor) {
+        Objects.requireNonNull(executor, "Executor passed to Iter.toPublisher cannot be null!");
+        return new IterPublisher<>(this, executor);
+    }
+
     default Iterator<T> iterator() {
         return new IterIterator<>(this);
     }
 
+    // the default Iterable.spliterator goes through the Iterator and does not
+    // know the size, this one uses tryAdvance and what the Iter knows
+    @Override
+    default Spliterator<T> spliterator() {
+        return new IterSpliterator<>(this);
+    }
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // this is a terminal operation, it does not need to go through the
+    // Iterator like the default Iterable.forEach does
+    @Override
+    default void forEach(final Consumer<? super T> action) {
+        Objects.requireNonNull(action, "Consumer passed to Iter.forEach cannot be null!");
+        while (tryAdvance(action)) {
+            // the action already did all the work
+        }
+    }
+
     @SafeVarargs
     @SuppressWarnings("varargs") // if creating a Stream from an array is safe then creating an Iter is ;-)
     static <U> Iter<U> from(final U... items) {
@@ -80,11 +375,138 @@ public interface Iter<T> extends Iterable<T> {
         return new ArrayIter<>(items);
     }
 
+    // lists with fast random access are indexed directly, any other Iterable
+    // is traversed with its Iterator
+    static <U> Iter<U> fromIterable(final Iterable<U> iterable) {
+        Objects.requireNonNull(iterable, "Iterable passed to Iter.fromIterable cannot be null!");
+        if (iterable instanceof List && iterable instanceof RandomAccess)
+            return new ListIter<>((List<U>) iterable);
+
+        return new IteratorIter<>(iterable.iterator());
+    }
+
+    static <U> Iter<U> fromStream(final Stream<U> stream) {
+        Objects.requireNonNull(stream, "Stream passed to Iter.fromStream cannot be null!");
+        return new StreamIter<>(stream);
+    }
+
+    // the lines of a file, without copying them into Strings, see the
+    // MappedLineIter; it should be closed to close the file. The lines are
+    // split on the '\n' byte, so the charset has to be ASCII compatible
+    // (UTF-8 or ISO-8859-1 are, UTF-16 is not)
+    static MappedLineIter fromLines(final Path path) throws IOException {
+        return fromLines(path, StandardCharsets.UTF_8);
+    }
+
+    static MappedLineIter fromLines(final Path path, final Charset charset) throws IOException {
+        Objects.requireNonNull(path, "Path passed to Iter.fromLines cannot be null!");
+        Objects.requireNonNull(charset, "Charset passed to Iter.fromLines cannot be null!");
+        if (!MappedLineIter.isAsciiCompatible(charset))
+            throw new IllegalArgumentException("Charset passed to Iter.fromLines needs to be ASCII compatible!");
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedLineIter(channel, true, charset, MappedLineIter.DEFAULT_WINDOW_SIZE);
+        } catch (final IOException | RuntimeException exc) {
+            Iters.closeAfterFailure(channel, exc);
+            throw exc;
+        }
+    }
+
+    // the channel stays open when the Iter is closed, it belongs to the caller
+    static MappedLineIter fromLines(final FileChannel channel, final Charset charset) throws IOException {
+        Objects.requireNonNull(channel, "FileChannel passed to Iter.fromLines cannot be null!");
+        Objects.requireNonNull(charset, "Charset passed to Iter.fromLines cannot be null!");
+        if (!MappedLineIter.isAsciiCompatible(charset))
+            throw new IllegalArgumentException("Charset passed to Iter.fromLines needs to be ASCII compatible!");
+        return new MappedLineIter(channel, false, charset, MappedLineIter.DEFAULT_WINDOW_SIZE);
+    }
+
+    // the fixed size records of a file as reused ByteBuffer views, see the
+    // MappedRecordIter; it should be closed to close the file
+    static MappedRecordIter fromRecords(final Path path, final int recordSize) throws IOException {
+        Objects.requireNonNull(path, "Path passed to Iter.fromRecords cannot be null!");
+        if (recordSize <= 0)
+            throw new IllegalArgumentException("Record size passed to Iter.fromRecords needs to be positive!");
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedRecordIter(channel, true, recordSize, MappedLineIter.DEFAULT_WINDOW_SIZE);
+        } catch (final IOException | RuntimeException exc) {
+            Iters.closeAfterFailure(channel, exc);
+            throw exc;
+        }
+    }
+
+    // the channel stays open when the Iter is closed, it belongs to the caller
+    static MappedRecordIter fromRecords(final FileChannel channel, final int recordSize) throws IOException {
+        Objects.requireNonNull(channel, "FileChannel passed to Iter.fromRecords cannot be null!");
+        if (recordSize <= 0)
+            throw new IllegalArgumentException("Record size passed to Iter.fromRecords needs to be positive!");
+        return new MappedRecordIter(channel, false, recordSize, MappedLineIter.DEFAULT_WINDOW_SIZE);
+    }
+
+    // requests Flow.defaultBufferSize elements ahead, see PublisherIter
+    static <U> PublisherIter<U> fromPublisher(final Flow.Publisher<? extends U> publisher) {
+        return fromPublisher(publisher, Flow.defaultBufferSize());
+    }
+
+    static <U> PublisherIter<U> fromPublisher(final Flow.Publisher<? extends U> publisher, final int prefetch) {
+        Objects.requireNonNull(publisher, "Publisher passed to Iter.fromPublisher cannot be null!");
+        if (prefetch <= 0)
+            throw new IllegalArgumentException("Prefetch passed to Iter.fromPublisher needs to be positive!");
+        return new PublisherIter<>(publisher, prefetch);
+    }
+
+    // waits for each element, the producer ends the Iter by putting the
+    // poison pill into the queue, see QueueIter; a BlockingQueue cannot hold
+    // a null, so the pill cannot be one either
+    static <U> Iter<U> fromQueue(final BlockingQueue<U> queue, final U poisonPill) {
+        Objects.requireNonNull(queue, "BlockingQueue passed to Iter.fromQueue cannot be null!");
+        Objects.requireNonNull(poisonPill, "Poison pill passed to Iter.fromQueue cannot be null!");
+        return QueueIter.withPoisonPill(queue, poisonPill);
+    }
+
+    // waits for each element, the Iter ends if there is none for the given
+    // time, see QueueIter
+    static <U> Iter<U> fromQueue(final BlockingQueue<U> queue, final long timeout, final TimeUnit unit) {
+        Objects.requireNonNull(queue, "BlockingQueue passed to Iter.fromQueue cannot be null!");
+        Objects.requireNonNull(unit, "TimeUnit passed to Iter.fromQueue cannot be null!");
+        if (timeout < 0)
+            throw new IllegalArgumentException("Timeout passed to Iter.fromQueue cannot be negative!");
+        return QueueIter.withTimeout(queue, timeout, unit);
+    }
+
     static <U> Iter<U> from(final U seed, final Function<U, U> generator) {
         Objects.requireNonNull(generator, "Generator function passed to Iter.from cannot be null!");
         return new Seed1Iter<>(seed, generator);
     }
 
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <U> Iter<U> concat(final Iter<? extends U>... iters) {
+        Objects.requireNonNull(iters, "Array passed to Iter.concat cannot be null!");
+        if (iters.length == 0)
+            return empty();
+        return new ConcatIter<>(Iters.requireIters(iters, "Iter.concat"));
+    }
+
+    // takes an element from each Iter in turn
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <U> Iter<U> interleave(final Iter<? extends U>... iters) {
+        Objects.requireNonNull(iters, "Array passed to Iter.interleave cannot be null!");
+        return new InterleaveIter<>(Iters.requireIters(iters, "Iter.interleave"));
+    }
+
+    // the Iters need to be sorted with the same Comparator already, the
+    // result is sorted too, see MergeSortedIter
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <U> Iter<U> mergeSorted(final Comparator<? super U> comparator, final Iter<? extends U>... iters) {
+        Objects.requireNonNull(comparator, "Comparator passed to Iter.mergeSorted cannot be null!");
+        Objects.requireNonNull(iters, "Array passed to Iter.mergeSorted cannot be null!");
+        return new MergeSortedIter<>(comparator, Iters.requireIters(iters, "Iter.mergeSorted"));
+    }
+
     static <U> Iter<U> empty() {
         return new EmptyIter<>();
     }
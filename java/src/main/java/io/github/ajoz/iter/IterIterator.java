@@ -1,15 +1,17 @@
 package io.github.ajoz.iter;
 
-import io.github.ajoz.util.Try;
-
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 public final class IterIterator<T> implements Iterator<T> {
     private final Iter<T> iter;
+    // the element is passed through tryAdvance, so the Iterator does not need
+    // a Try for every element it returns
+    private final Consumer<T> store = this::keep;
 
-    private boolean shouldCheck = true;
-    private Try<T> next = Try.failure(new NoSuchElementException("No more elements in this Iter!"));
+    private boolean ready;
+    private T next;
 
     public IterIterator(final Iter<T> iter) {
         this.iter = iter;
@@ -17,18 +19,25 @@ public final class IterIterator<T> implements Iterator<T> {
 
     @Override
     public boolean hasNext() {
-        if (shouldCheck) {
-            next = iter.next();
-            shouldCheck = false;
+        if (!ready) {
+            ready = iter.tryAdvance(store);
         }
 
-        return next.isSuccess();
+        return ready;
     }
 
     @Override
     public T next() {
-        final T value = next.get();
-        shouldCheck = true;
+        if (!hasNext())
+            throw new NoSuchElementException("No more elements in this Iter!");
+
+        final T value = next;
+        next = null;
+        ready = false;
         return value;
     }
+
+    private void keep(final T value) {
+        next = value;
+    }
 }
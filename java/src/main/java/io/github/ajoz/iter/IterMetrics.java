@@ -0,0 +1,36 @@
+package io.github.ajoz.iter;
+
+/*
+ Where Iter.instrument reports what it has measured. Each instrumented point
+ of a pipeline gets its StageMetrics once, when the pipeline is built, so
+ the registry is not looked up for every element.
+
+ The timing and the allocation are measured only for every
+ samplingInterval-th element, measuring them costs more than counting.
+
+ The noop metrics are not only empty, Iter.instrument does not add anything
+ to the pipeline for them, so the instrumentation can be left in the code
+ and turned on only when needed.
+ */
+public interface IterMetrics {
+    StageMetrics stage(String name);
+
+    default int samplingInterval() {
+        return 64;
+    }
+
+    static IterMetrics noop() {
+        return NoopIterMetrics.INSTANCE;
+    }
+
+    // keeps the metrics in memory, sampling every given element
+    static SimpleIterMetrics simple(final int samplingInterval) {
+        if (samplingInterval <= 0)
+            throw new IllegalArgumentException("Sampling interval passed to IterMetrics.simple needs to be positive!");
+        return new SimpleIterMetrics(samplingInterval);
+    }
+
+    static SimpleIterMetrics simple() {
+        return simple(64);
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ A Flow.Publisher of the elements of an Iter. The Iter is pulled only when
+ the Subscriber has requested more elements, one pull for each requested
+ element, so the Subscriber decides how far ahead the Iter is read.
+
+ The Iter is pulled on the Executor. A request adds to the demand and only
+ the request that finds no demand left starts pulling, the others just
+ make the running pull go on longer. That way the Iter is never pulled from
+ two threads at once, and a request made from onNext does not recurse.
+
+ The end of the Iter (a NoSuchElementException, like in every Iter that has
+ run out of elements) is signalled with onComplete, any other Failure with
+ onError. An Iter can be read only once, so there can be only one Subscriber.
+ */
+public final class IterPublisher<T> implements Flow.Publisher<T> {
+    private final Iter<T> iter;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public IterPublisher(final Iter<T> iter, final Executor executor) {
+        this.iter = iter;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("IterPublisher allows only one subscriber!"));
+            return;
+        }
+
+        final IterSubscription<T> subscription = new IterSubscription<>(iter, executor, subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private static final class IterSubscription<T> implements Flow.Subscription, Runnable {
+        private final Iter<T> iter;
+        private final Executor executor;
+        private final Flow.Subscriber<? super T> subscriber;
+        // the requested but not yet delivered elements
+        private final AtomicLong demand = new AtomicLong();
+
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private boolean done;
+
+        IterSubscription(final Iter<T> iter,
+                         final Executor executor,
+                         final Flow.Subscriber<? super T> subscriber) {
+            this.iter = iter;
+            this.executor = executor;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0)
+                invalidRequest = new IllegalArgumentException("Subscription.request needs a positive number, got: " + n);
+            schedule(n <= 0 ? 1 : n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            // the pull releases the Iter, so it is not closed while it is
+            // being pulled on another thread
+            schedule(1);
+        }
+
+        private void schedule(final long n) {
+            long current;
+            long updated;
+            do {
+                current = demand.get();
+                // the demand is capped, Long.MAX_VALUE is as good as unbounded
+                updated = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!demand.compareAndSet(current, updated));
+
+            if (current == 0)
+                executor.execute(this);
+        }
+
+        @Override
+        public void run() {
+            long requested = demand.get();
+            long delivered = 0;
+            while (true) {
+                while (delivered != requested) {
+                    if (done)
+                        return;
+                    if (cancelled) {
+                        release();
+                        return;
+                    }
+                    if (invalidRequest != null) {
+                        release();
+                        subscriber.onError(invalidRequest);
+                        return;
+                    }
+
+                    final Try<T> next;
+                    try {
+                        next = iter.next();
+                    } catch (final RuntimeException exc) {
+                        release();
+                        subscriber.onError(exc);
+                        return;
+                    }
+
+                    if (next.isFailure()) {
+                        release();
+                        next.ifFailure(exc -> {
+                            if (exc instanceof NoSuchElementException) {
+                                subscriber.onComplete();
+                            } else {
+                                subscriber.onError(exc);
+                            }
+                        });
+                        return;
+                    }
+
+                    subscriber.onNext(next.get());
+                    delivered++;
+                }
+
+                requested = demand.addAndGet(-delivered);
+                if (requested == 0)
+                    return;
+                delivered = 0;
+            }
+        }
+
+        private void release() {
+            if (done)
+                return;
+            done = true;
+            if (iter instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) iter).close();
+                } catch (final Exception ignored) {
+                    // the Subscriber does not expect anything more
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.ajoz.iter;
+
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/*
+ A Spliterator that pulls the elements from an Iter through tryAdvance, so no
+ Try and no Iterator is needed in between. The size and the characteristics
+ are taken from the Iter, this way a Stream created from it can for example
+ pre-size the collections it creates.
+
+ Splitting is done by AbstractSpliterator, it copies batches of elements to
+ arrays, which is the best that can be done for an Iter that does not know
+ how to split itself.
+ */
+final class IterSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+    private final Iter<T> iter;
+
+    IterSpliterator(final Iter<T> iter) {
+        super(sizeOf(iter), iter.characteristics());
+        this.iter = iter;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        return iter.tryAdvance(action);
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        iter.forEach(action);
+    }
+
+    private static long sizeOf(final Iter<?> iter) {
+        final long size = iter.exactSizeIfKnown();
+        return size < 0 ? Long.MAX_VALUE : size;
+    }
+}
@@ -3,6 +3,7 @@ package io.github.ajoz.iter;
 import io.github.ajoz.util.Try;
 
 import java.util.Iterator;
+import java.util.function.Consumer;
 
 public final class IteratorIter<T> implements Iter<T> {
     private final Iterator<T> iterator;
@@ -13,17 +14,28 @@ public final class IteratorIter<T> implements Iter<T> {
 
     @Override
     public Try<T> next() {
-        // We can manually check if there are any elements and then return
-        // Failure or Success accordingly
-
-        // if (!iterator.hasNext())
-        //     return Try.failure(new NoSuchElementException("Iterator does not have more elements!"));
-        //
-        // return Try.success(iterator.next());
-
-        // usage of Try.ofSupplier might be more concise as calling next will always
-        // result with an exception if there are no more elements, the main
-        // problem lies in the efficiency because the exception needs to be thrown
-        return Try.ofSupplier(iterator::next);
+        // Usage of Try.ofSupplier(iterator::next) would be more concise as
+        // calling next will always result with an exception if there are no
+        // more elements, but the exception needs to be created (with its stack
+        // trace), thrown and caught at the end of every Iterator, even an
+        // empty one.
+
+        // Checking hasNext first costs nothing, and the end of the Iterator
+        // is signalled with an EndOfIter failure, which has no stack trace.
+        if (!iterator.hasNext())
+            return EndOfIter.failure();
+
+        return Try.success(iterator.next());
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        // here asking first is the cheap option, no exception is needed to
+        // find out that the Iterator is exhausted
+        if (!iterator.hasNext())
+            return false;
+
+        action.accept(iterator.next());
+        return true;
     }
 }
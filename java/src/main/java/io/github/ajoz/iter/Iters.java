@@ -1,16 +1,245 @@
 package io.github.ajoz.iter;
 
-import java.util.LinkedList;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collector;
 
 public final class Iters {
+    // some VMs reserve a few header words in an array, the same limit is
+    // used by ArrayList
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
 
+    /*
+     A LinkedList needs a separate node for each element, and the elements end
+     up scattered all over the heap. The ArrayList keeps them in one array, and
+     if the Iter knows its size the array has the right size from the start.
+     */
     public static <T> List<T> toList(final Iter<T> iter) {
-        final List<T> list = new LinkedList<>();
-        for (final T item : iter) {
-            list.add(item);
-        }
+        return toArrayList(iter);
+    }
+
+    public static <T> ArrayList<T> toArrayList(final Iter<T> iter) {
+        final long size = iter.exactSizeIfKnown();
+        final ArrayList<T> list = size < 0
+                ? new ArrayList<>()
+                : new ArrayList<>((int) Math.min(size, MAX_ARRAY_SIZE));
+        iter.forEach(list::add);
         return list;
     }
 
+    public static <T> T[] toArray(final Iter<T> iter,
+                                  final IntFunction<T[]> generator) {
+        final long size = iter.exactSizeIfKnown();
+        if (size >= 0 && size <= MAX_ARRAY_SIZE) {
+            final T[] array = generator.apply((int) size);
+            final int[] index = {0};
+            iter.forEach(value -> array[index[0]++] = value);
+            return array;
+        }
+
+        final ArrayBuilder<T> builder = new ArrayBuilder<>();
+        iter.forEach(builder);
+        final T[] array = generator.apply(builder.size);
+        System.arraycopy(builder.elements, 0, array, 0, builder.size);
+        return array;
+    }
+
+    // the returned list is backed by an array that has exactly the size of
+    // the list and it cannot be modified
+    public static <T> List<T> toImmutableList(final Iter<T> iter) {
+        final ArrayBuilder<T> builder = new ArrayBuilder<>(iter.exactSizeIfKnown());
+        iter.forEach(builder);
+        return new ImmutableArrayList<>(builder.build());
+    }
+
+    public static <T, A, R> R collect(final Iter<T> iter,
+                                      final Collector<? super T, A, R> collector) {
+        final A container = collector.supplier().get();
+        final BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        iter.forEach(value -> accumulator.accept(container, value));
+
+        if (collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            @SuppressWarnings("unchecked") final R result = (R) container;
+            return result;
+        }
+        return collector.finisher().apply(container);
+    }
+
+    // the groups are collected under the numbers the KeyIndex gave to the
+    // keys, the Map is built once at the end
+    public static <T, K> Map<K, List<T>> groupBy(final Iter<T> iter,
+                                                 final Function<? super T, ? extends K> classifier) {
+        final KeyIndex<K> index = new KeyIndex<>();
+        final ArrayList<List<T>> groups = new ArrayList<>();
+        iter.forEach(value -> {
+            final int i = index.add(classifier.apply(value));
+            if (i == groups.size())
+                groups.add(new ArrayList<>());
+            groups.get(i).add(value);
+        });
+
+        final Map<K, List<T>> map = new LinkedHashMap<>(Math.max(16, (int) (groups.size() / 0.75f) + 1));
+        for (int i = 0; i < groups.size(); i++) {
+            map.put(index.key(i), groups.get(i));
+        }
+        return map;
+    }
+
+    public static <T, K> Counts<K> countBy(final Iter<T> iter,
+                                           final Function<? super T, ? extends K> classifier) {
+        final KeyIndex<K> index = new KeyIndex<>();
+        final CountSink<T, K> sink = new CountSink<>(index, classifier);
+        iter.forEach(sink);
+        return new Counts<>(index, Arrays.copyOf(sink.counts, index.size()));
+    }
+
+    // the combining Iters change their arrays, so they get a copy
+    static <U> Iter<? extends U>[] requireIters(final Iter<? extends U>[] iters, final String operator) {
+        final Iter<? extends U>[] copy = iters.clone();
+        for (final Iter<? extends U> iter : copy) {
+            Objects.requireNonNull(iter, "Iter passed to " + operator + " cannot be null!");
+        }
+        return copy;
+    }
+
+    // false if the Iter uses the default tryAdvance, which is built on next
+    // and makes a Failure look like the end
+    static boolean hasOwnTryAdvance(final Iter<?> iter) {
+        try {
+            return iter.getClass().getMethod("tryAdvance", Consumer.class).getDeclaringClass() != Iter.class;
+        } catch (final NoSuchMethodException | SecurityException exc) {
+            return false;
+        }
+    }
+
+    // closes a resource that was opened for an Iter that could not be
+    // created, the failure of the close is kept with the original one
+    static void closeAfterFailure(final AutoCloseable resource, final Exception failure) {
+        try {
+            resource.close();
+        } catch (final Exception exc) {
+            failure.addSuppressed(exc);
+        }
+    }
+
+    /*
+     Closes the Iter if it holds some resources. A source like a StreamIter is
+     AutoCloseable, and so are the stages that have a single upstream (map,
+     filter, onEach, distinct, take, chunked, windowed, instrument): they
+     pass close to their upstream, so closing the end of a pipeline reaches
+     its source. Stages with more than one upstream, flatMap and the shared
+     Iters do not pass it on.
+     */
+    static void close(final Iter<?> iter) {
+        if (!(iter instanceof AutoCloseable))
+            return;
+
+        try {
+            ((AutoCloseable) iter).close();
+        } catch (final RuntimeException exc) {
+            throw exc;
+        } catch (final Exception exc) {
+            throw new IllegalStateException("Could not close the Iter!", exc);
+        }
+    }
+
+    static void checkBatch(final int max, final Object[] buffer) {
+        if (max < 0)
+            throw new IllegalArgumentException("Max passed to Iter.nextBatch cannot be negative!");
+        if (max > buffer.length)
+            throw new IllegalArgumentException("Buffer passed to Iter.nextBatch is smaller than max!");
+    }
+
+    // used by the default Iter.nextBatch
+    static final class BatchSink implements Consumer<Object> {
+        private final Object[] buffer;
+        int count;
+
+        BatchSink(final Object[] buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void accept(final Object value) {
+            buffer[count++] = value;
+        }
+    }
+
+    private static final class CountSink<T, K> implements Consumer<T> {
+        private final KeyIndex<K> index;
+        private final Function<? super T, ? extends K> classifier;
+        long[] counts = new long[16];
+
+        CountSink(final KeyIndex<K> index,
+                  final Function<? super T, ? extends K> classifier) {
+            this.index = index;
+            this.classifier = classifier;
+        }
+
+        @Override
+        public void accept(final T value) {
+            final int i = index.add(classifier.apply(value));
+            if (i == counts.length)
+                counts = Arrays.copyOf(counts, counts.length * 2);
+            counts[i]++;
+        }
+    }
+
+    private static final class ArrayBuilder<T> implements Consumer<T> {
+        private Object[] elements;
+        private int size;
+
+        ArrayBuilder() {
+            this(-1);
+        }
+
+        ArrayBuilder(final long sizeHint) {
+            this.elements = new Object[sizeHint < 0 ? 16 : (int) Math.min(sizeHint, MAX_ARRAY_SIZE)];
+        }
+
+        @Override
+        public void accept(final T value) {
+            if (size == elements.length)
+                elements = Arrays.copyOf(elements, Math.max(16, (int) Math.min((long) size * 2, MAX_ARRAY_SIZE)));
+            elements[size++] = value;
+        }
+
+        Object[] build() {
+            return size == elements.length ? elements : Arrays.copyOf(elements, size);
+        }
+    }
+
+    private static final class ImmutableArrayList<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] elements;
+
+        ImmutableArrayList(final Object[] elements) {
+            this.elements = elements;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get(final int index) {
+            return (T) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return elements.clone();
+        }
+    }
 }
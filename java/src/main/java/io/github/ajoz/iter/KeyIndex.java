@@ -0,0 +1,89 @@
+package io.github.ajoz.iter;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/*
+ Gives each distinct key a number, starting from 0 in the order in which the
+ keys were added. groupBy and countBy keep their values in arrays under
+ these numbers, so they need no Map.Entry (and no boxed Long for a count)
+ per key.
+
+ The keys are found with open addressing: the table is an int[] with the
+ number of the key plus one (0 marks an empty slot), and a collision moves to
+ the next slot (linear probing). The table is at most half full, so the
+ probes are short, and a probe touches only the int[] and the keys array
+ instead of chasing the nodes of a HashMap bucket.
+ */
+final class KeyIndex<K> {
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    private Object[] keys = new Object[8];
+    private int[] table = new int[16];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    K key(final int index) {
+        return (K) keys[index];
+    }
+
+    // returns the number of the key or -1 if it was not added
+    int indexOf(final Object key) {
+        final int mask = table.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            final int entry = table[slot];
+            if (entry == 0)
+                return -1;
+            if (Objects.equals(keys[entry - 1], key))
+                return entry - 1;
+        }
+    }
+
+    // returns the number of the key, a new key gets the next number
+    int add(final K key) {
+        final int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        for (; table[slot] != 0; slot = (slot + 1) & mask) {
+            final int index = table[slot] - 1;
+            if (Objects.equals(keys[index], key))
+                return index;
+        }
+
+        if (size == keys.length)
+            keys = Arrays.copyOf(keys, size * 2);
+        keys[size] = key;
+        table[slot] = ++size;
+
+        if (size * 2 > table.length)
+            grow();
+        return size - 1;
+    }
+
+    private void grow() {
+        if (table.length == MAX_TABLE_SIZE)
+            throw new IllegalStateException("Too many keys: " + size);
+
+        final int[] grown = new int[table.length * 2];
+        final int mask = grown.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = hash(keys[index]) & mask;
+            while (grown[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            grown[slot] = index + 1;
+        }
+        table = grown;
+    }
+
+    // linear probing needs the bits of the hashCode spread over the whole
+    // table, otherwise keys with similar hashCodes (like small Integers) end
+    // up in long runs of taken slots
+    private static int hash(final Object key) {
+        final int h = Objects.hashCode(key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ An Iter over a List with fast random access (ArrayList, Arrays.asList, ...).
+ It could be done with the IteratorIter, but indexing the list directly does
+ not need the Iterator and also allows splitting the list into parts for the
+ ParallelIter.
+ */
+public final class ListIter<T> implements Iter<T> {
+    private final List<T> list;
+    private int current;
+
+    public ListIter(final List<T> list) {
+        if (!(list instanceof RandomAccess))
+            throw new IllegalArgumentException("ListIter needs a RandomAccess list!");
+        this.list = list;
+    }
+
+    @Override
+    public Try<T> next() {
+        if (current >= list.size())
+            return EndOfIter.failure();
+
+        return Try.success(list.get(current++));
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (current >= list.size())
+            return false;
+
+        action.accept(list.get(current++));
+        return true;
+    }
+
+    @Override
+    public int nextBatch(final int max, final Object[] buffer) {
+        Iters.checkBatch(max, buffer);
+        final int count = Math.min(max, list.size() - current);
+        for (int i = 0; i < count; i++) {
+            buffer[i] = list.get(current++);
+        }
+        return count;
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        final int size = list.size();
+        while (current < size) {
+            action.accept(list.get(current++));
+        }
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        return list.size() - current;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    // the remaining elements are handed over to the spliterator
+    @Override
+    public Spliterator<T> spliterator() {
+        final Spliterator<T> spliterator = new RandomAccessSpliterator<>(list, current, list.size());
+        current = list.size();
+        return spliterator;
+    }
+
+    private static final class RandomAccessSpliterator<T> implements Spliterator<T> {
+        private final List<T> list;
+        private int current;
+        private final int fence;
+
+        RandomAccessSpliterator(final List<T> list,
+                                final int origin,
+                                final int fence) {
+            this.list = list;
+            this.current = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            if (current >= fence)
+                return false;
+
+            action.accept(list.get(current++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final int middle = (current + fence) >>> 1;
+            if (middle <= current)
+                return null;
+
+            final Spliterator<T> prefix = new RandomAccessSpliterator<>(list, current, middle);
+            current = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - current;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+}
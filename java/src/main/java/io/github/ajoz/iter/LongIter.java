@@ -0,0 +1,104 @@
+package io.github.ajoz.iter;
+
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/*
+ A primitive specialization of the Iter for long values, it works exactly
+ like the IntIter. See IntIter for the reasoning behind it.
+ */
+public interface LongIter {
+
+    boolean tryAdvance(LongConsumer action);
+
+    default LongIter map(final LongUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "Function passed to LongIter.map cannot be null!");
+        return new LongIters.MapLongIter(this, mapper);
+    }
+
+    default LongIter filter(final LongPredicate predicate) {
+        Objects.requireNonNull(predicate, "Predicate passed to LongIter.filter cannot be null!");
+        return new LongIters.FilterLongIter(this, predicate);
+    }
+
+    default LongIter onEach(final LongConsumer action) {
+        Objects.requireNonNull(action, "Consumer passed to LongIter.onEach cannot be null!");
+        return new LongIters.OnEachLongIter(this, action);
+    }
+
+    default LongIter take(final int amount) {
+        return new LongIters.TakeLongIter(this, amount);
+    }
+
+    default <R> Iter<R> mapToObj(final LongFunction<? extends R> mapper) {
+        Objects.requireNonNull(mapper, "Function passed to LongIter.mapToObj cannot be null!");
+        return new LongIters.MapToObjIter<>(this, mapper);
+    }
+
+    // this is the only place where the values get boxed
+    default Iter<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    // this is a terminal operation
+    default void forEach(final LongConsumer action) {
+        Objects.requireNonNull(action, "Consumer passed to LongIter.forEach cannot be null!");
+        while (tryAdvance(action)) {
+            // the action already did all the work
+        }
+    }
+
+    // this is a terminal operation
+    default long sum() {
+        final long[] sum = {0};
+        forEach(value -> sum[0] += value);
+        return sum[0];
+    }
+
+    // this is a terminal operation
+    default OptionalLong min() {
+        final LongSummaryStatistics statistics = summaryStatistics();
+        return statistics.getCount() == 0
+                ? OptionalLong.empty()
+                : OptionalLong.of(statistics.getMin());
+    }
+
+    // this is a terminal operation
+    default OptionalLong max() {
+        final LongSummaryStatistics statistics = summaryStatistics();
+        return statistics.getCount() == 0
+                ? OptionalLong.empty()
+                : OptionalLong.of(statistics.getMax());
+    }
+
+    // this is a terminal operation
+    default LongSummaryStatistics summaryStatistics() {
+        final LongSummaryStatistics statistics = new LongSummaryStatistics();
+        forEach(statistics);
+        return statistics;
+    }
+
+    // this is a terminal operation
+    default long[] toArray() {
+        return LongIters.toArray(this);
+    }
+
+    static LongIter from(final long... values) {
+        Objects.requireNonNull(values, "Array passed to LongIter.from cannot be null!");
+        return new LongIters.ArrayLongIter(values);
+    }
+
+    static LongIter from(final long seed, final LongUnaryOperator generator) {
+        Objects.requireNonNull(generator, "Generator function passed to LongIter.from cannot be null!");
+        return new LongIters.SeedLongIter(seed, generator);
+    }
+
+    static LongIter empty() {
+        return action -> false;
+    }
+}
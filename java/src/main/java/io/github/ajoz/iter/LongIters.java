@@ -0,0 +1,244 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+/*
+ Implementations of the LongIter operators, the same as the ones in IntIters.
+ */
+final class LongIters {
+    private LongIters() {
+    }
+
+    static long[] toArray(final LongIter iter) {
+        final LongArrayBuilder builder = new LongArrayBuilder();
+        iter.forEach(builder);
+        return builder.build();
+    }
+
+    private static final class LongArrayBuilder implements LongConsumer {
+        private long[] values = new long[16];
+        private int size;
+
+        @Override
+        public void accept(final long value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long[] build() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    static final class ArrayLongIter implements LongIter {
+        private final long[] array;
+        private int current;
+
+        ArrayLongIter(final long[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            if (current >= array.length)
+                return false;
+
+            action.accept(array[current++]);
+            return true;
+        }
+    }
+
+    static final class SeedLongIter implements LongIter {
+        private final LongUnaryOperator generator;
+        private long seed;
+        private boolean started;
+
+        SeedLongIter(final long seed,
+                    final LongUnaryOperator generator) {
+            this.seed = seed;
+            this.generator = generator;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            // same as in Seed1Iter, the next value is generated only when
+            // it is asked for
+            if (started)
+                seed = generator.applyAsLong(seed);
+            else
+                started = true;
+            action.accept(seed);
+            return true;
+        }
+    }
+
+    static final class MapLongIter implements LongIter {
+        private final LongIter upstream;
+        private final LongUnaryOperator mapper;
+        private final LongConsumer sink = this::push;
+        private LongConsumer downstream;
+
+        MapLongIter(final LongIter upstream,
+                   final LongUnaryOperator mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final long value) {
+            downstream.accept(mapper.applyAsLong(value));
+        }
+    }
+
+    static final class FilterLongIter implements LongIter {
+        private final LongIter upstream;
+        private final LongPredicate predicate;
+        private final LongConsumer sink = this::push;
+        private LongConsumer downstream;
+        private boolean matched;
+
+        FilterLongIter(final LongIter upstream,
+                      final LongPredicate predicate) {
+            this.upstream = upstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            downstream = action;
+            matched = false;
+            while (!matched) {
+                if (!upstream.tryAdvance(sink))
+                    return false;
+            }
+            return true;
+        }
+
+        private void push(final long value) {
+            if (predicate.test(value)) {
+                matched = true;
+                downstream.accept(value);
+            }
+        }
+    }
+
+    static final class OnEachLongIter implements LongIter {
+        private final LongIter upstream;
+        private final LongConsumer action;
+        private final LongConsumer sink = this::push;
+        private LongConsumer downstream;
+
+        OnEachLongIter(final LongIter upstream,
+                      final LongConsumer action) {
+            this.upstream = upstream;
+            this.action = action;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final long value) {
+            action.accept(value);
+            downstream.accept(value);
+        }
+    }
+
+    static final class TakeLongIter implements LongIter {
+        private final LongIter upstream;
+        private final int amount;
+        private int taken;
+
+        TakeLongIter(final LongIter upstream,
+                    final int amount) {
+            this.upstream = upstream;
+            this.amount = amount;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            if (taken >= amount)
+                return false;
+
+            if (!upstream.tryAdvance(action))
+                return false;
+
+            taken++;
+            return true;
+        }
+    }
+
+    // from the object world to the primitive world
+    static final class MapToLongIter<T> implements LongIter {
+        private final Iter<T> upstream;
+        private final ToLongFunction<? super T> mapper;
+        private final Consumer<T> sink = this::push;
+        private LongConsumer downstream;
+
+        MapToLongIter(final Iter<T> upstream,
+                     final ToLongFunction<? super T> mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final T value) {
+            downstream.accept(mapper.applyAsLong(value));
+        }
+    }
+
+    // from the primitive world back to the object world
+    static final class MapToObjIter<R> implements Iter<R> {
+        private final LongIter upstream;
+        private final LongFunction<? extends R> mapper;
+        private final LongConsumer sink = this::push;
+        private Consumer<? super R> downstream;
+
+        MapToObjIter(final LongIter upstream,
+                     final LongFunction<? extends R> mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public Try<R> next() {
+            final Object[] next = new Object[1];
+            if (!tryAdvance(value -> next[0] = value))
+                return EndOfIter.failure();
+
+            @SuppressWarnings("unchecked") final R value = (R) next[0];
+            return Try.success(value);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super R> action) {
+            downstream = action;
+            return upstream.tryAdvance(sink);
+        }
+
+        private void push(final long value) {
+            downstream.accept(mapper.apply(value));
+        }
+    }
+}
@@ -2,12 +2,18 @@ package io.github.ajoz.iter;
 
 import io.github.ajoz.util.Try;
 
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
-public final class MapIter<T, R> implements Iter<R> {
+public final class MapIter<T, R> implements Iter<R>, AutoCloseable {
     private final Iter<T> upstream;
     private final Function<? super T, ? extends R> mapper;
 
+    private final Consumer<T> sink = this::push;
+    private Consumer<? super R> downstream;
+
     public MapIter(final Iter<T> upstream,
                    final Function<? super T, ? extends R> mapper) {
         this.upstream = upstream;
@@ -18,4 +24,52 @@ public final class MapIter<T, R> implements Iter<R> {
     public Try<R> next() {
         return upstream.next().map(mapper);
     }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+        downstream = action;
+        return upstream.tryAdvance(sink);
+    }
+
+    // mapping does not change the number of elements
+    @Override
+    public long exactSizeIfKnown() {
+        return upstream.exactSizeIfKnown();
+    }
+
+    // but the mapped values might not be distinct, sorted or non null
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~(Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL);
+    }
+
+    @Override
+    public void close() {
+        Iters.close(upstream);
+    }
+
+    // consecutive map, filter and onEach stages are fused into a single
+    // stage, see FusedIter for details
+    @Override
+    public <U> Iter<U> map(final Function<? super R, ? extends U> mapper) {
+        return fused().map(mapper);
+    }
+
+    @Override
+    public Iter<R> filter(final Predicate<? super R> predicate) {
+        return fused().filter(predicate);
+    }
+
+    @Override
+    public Iter<R> onEach(final Consumer<? super R> action) {
+        return fused().onEach(action);
+    }
+
+    private FusedIter<T, R> fused() {
+        return FusedIter.ofMap(upstream, mapper);
+    }
+
+    private void push(final T value) {
+        downstream.accept(mapper.apply(value));
+    }
 }
@@ -0,0 +1,96 @@
+package io.github.ajoz.iter;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/*
+ A line of a file read by the MappedLineIter. It is a view of the bytes in
+ the mapped file, nothing is copied or decoded when the line is pulled, so
+ the lines that are only skipped cost nothing but finding the '\n'.
+
+ The chars are decoded with the charset of the file the first time length,
+ charAt or subSequence is called, into a CharBuffer that is reused for all
+ the lines, so a filter (or a java.util.regex.Matcher, which works on any
+ CharSequence) can look at the line without allocating. Malformed bytes are
+ replaced, like in new String(bytes, charset).
+
+ The MappedLineIter reuses one MappedLine for all the lines, the contents
+ change with each pull. A line that needs to be kept has to be turned into a
+ String first, for example with map(CharSequence::toString).
+ */
+public final class MappedLine implements CharSequence {
+    private final CharsetDecoder decoder;
+    private CharBuffer chars = CharBuffer.allocate(0);
+    private boolean decoded;
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+
+    MappedLine(final Charset charset) {
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    void reset(final ByteBuffer buffer, final int offset, final int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.decoded = false;
+    }
+
+    @Override
+    public int length() {
+        return decode().limit();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        final CharBuffer chars = decode();
+        if (index < 0 || index >= chars.limit())
+            throw new IndexOutOfBoundsException("Index: " + index + ", length: " + chars.limit());
+        return chars.get(index);
+    }
+
+    // the subsequence is a view of the same decoded chars, so it is valid
+    // only as long as the line it was taken from
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return decode().subSequence(start, end);
+    }
+
+    // a read only buffer with the bytes of the line between its position
+    // and limit
+    public ByteBuffer bytes() {
+        final ByteBuffer bytes = buffer.asReadOnlyBuffer();
+        bytes.limit(offset + length);
+        bytes.position(offset);
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return decode().toString();
+    }
+
+    private CharBuffer decode() {
+        if (decoded)
+            return chars;
+
+        final int capacity = (int) Math.ceil(length * (double) decoder.maxCharsPerByte());
+        if (chars.capacity() < capacity)
+            chars = CharBuffer.allocate(Math.max(capacity, chars.capacity() * 2));
+
+        chars.clear();
+        decoder.reset();
+        final ByteBuffer bytes = bytes();
+        decoder.decode(bytes, chars, true);
+        decoder.flush(chars);
+        chars.flip();
+        decoded = true;
+        return chars;
+    }
+}
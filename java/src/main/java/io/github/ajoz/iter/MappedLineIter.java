@@ -0,0 +1,156 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ An Iter over the lines of a file, read through a MappedByteBuffer instead of
+ a BufferedReader. A BufferedReader copies the bytes into its buffer, decodes
+ them into a char buffer and then copies them again into a String for each
+ line. Here the file is mapped into the memory and each line is returned as
+ a MappedLine: a view of the mapped bytes. The MappedLine is reused, so
+ pulling a line does not allocate at all (at least with tryAdvance), the
+ String is created only for the lines that need it.
+
+ A MappedByteBuffer cannot be larger than 2GB, so the file is mapped in
+ windows (64MB by default). The next window is mapped starting at the first
+ line that did not fit into the previous one. If a single line is longer
+ than the window, the window grows.
+
+ Lines are separated by '\n', a '\r' before it is dropped (like in a
+ BufferedReader). A last line without the '\n' is returned too. The bytes
+ are searched for the '\n' without decoding them, so only the charsets
+ that encode it as the single byte 0x0A are accepted (UTF-16 and UTF-32
+ would be split in the middle of a char).
+
+ Closing the Iter closes the channel if the Iter opened it. The mapped
+ windows are released by the GC, as there is no API for unmapping them.
+ */
+public final class MappedLineIter implements Iter<CharSequence>, AutoCloseable {
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final long size;
+    private final MappedLine line;
+
+    private int windowSize;
+    private MappedByteBuffer window;
+    // position in the file of the first byte in the window
+    private long windowStart;
+    // position in the file of the next line
+    private long position;
+    private boolean closed;
+
+    MappedLineIter(final FileChannel channel,
+                   final boolean ownsChannel,
+                   final Charset charset,
+                   final int windowSize) throws IOException {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.size = channel.size();
+        this.line = new MappedLine(charset);
+        this.windowSize = windowSize;
+    }
+
+    static boolean isAsciiCompatible(final Charset charset) {
+        return charset.canEncode() && Arrays.equals("\n".getBytes(charset), new byte[]{'\n'});
+    }
+
+    @Override
+    public Try<CharSequence> next() {
+        try {
+            return advance() ? Try.success(line) : EndOfIter.failure();
+        } catch (final IOException exc) {
+            return Try.failure(exc);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super CharSequence> action) {
+        final boolean advanced;
+        try {
+            advanced = advance();
+        } catch (final IOException exc) {
+            // returning false would look like the end of the file to forEach
+            // and toList, the data would be silently cut short
+            throw new UncheckedIOException(exc);
+        }
+
+        if (advanced)
+            action.accept(line);
+        return advanced;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        window = null;
+        if (ownsChannel)
+            channel.close();
+    }
+
+    private boolean advance() throws IOException {
+        if (closed || position >= size)
+            return false;
+
+        while (true) {
+            if (window == null || position >= windowStart + window.limit())
+                map(position);
+
+            final int from = (int) (position - windowStart);
+            final int limit = window.limit();
+            int end = from;
+            while (end < limit && window.get(end) != '\n') {
+                end++;
+            }
+
+            if (end < limit) {
+                position += end - from + 1;
+                found(from, end);
+                return true;
+            }
+
+            if (windowStart + limit >= size) {
+                position = size;
+                found(from, end);
+                return true;
+            }
+
+            // the line does not fit into the window, if it starts at the
+            // beginning of it then the window is too small for it
+            if (from == 0) {
+                if (windowSize == MAX_WINDOW_SIZE)
+                    throw new IOException("Line at " + position + " is longer than " + MAX_WINDOW_SIZE + " bytes!");
+                windowSize = (int) Math.min((long) windowSize * 2, MAX_WINDOW_SIZE);
+            }
+            map(position);
+        }
+    }
+
+    private void found(final int from, final int end) {
+        final int length = end > from && window.get(end - 1) == '\r'
+                ? end - from - 1
+                : end - from;
+        line.reset(window, from, length);
+    }
+
+    private void map(final long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ An Iter over the fixed size records of a file, read through a
+ MappedByteBuffer. Each record is returned as a ByteBuffer with the bytes of
+ the record between its position and limit. The ByteBuffer is a read only
+ view of the mapped file and it is reused for all the records, so nothing is
+ copied or allocated when pulling a record. Records should be read with the
+ relative get methods (or with the absolute ones starting at the position).
+
+ The file is mapped in windows of a whole number of records (about 64MB by
+ default), as a MappedByteBuffer cannot be larger than 2GB. If the size of
+ the file is not a multiple of the record size, the last record is shorter.
+
+ Closing the Iter closes the channel if the Iter opened it. The mapped
+ windows are released by the GC, as there is no API for unmapping them.
+ */
+public final class MappedRecordIter implements Iter<ByteBuffer>, AutoCloseable {
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final long size;
+    private final int recordSize;
+    private final int windowSize;
+
+    private ByteBuffer record;
+    // position in the file of the first byte in the window
+    private long windowStart;
+    // position in the file of the next record
+    private long position;
+    private boolean closed;
+
+    MappedRecordIter(final FileChannel channel,
+                     final boolean ownsChannel,
+                     final int recordSize,
+                     final int windowSize) throws IOException {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.size = channel.size();
+        this.recordSize = recordSize;
+        this.windowSize = Math.max(windowSize / recordSize, 1) * recordSize;
+    }
+
+    @Override
+    public Try<ByteBuffer> next() {
+        try {
+            return advance() ? Try.success(record) : EndOfIter.failure();
+        } catch (final IOException exc) {
+            return Try.failure(exc);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super ByteBuffer> action) {
+        final boolean advanced;
+        try {
+            advanced = advance();
+        } catch (final IOException exc) {
+            // returning false would look like the end of the file to forEach
+            // and toList, the data would be silently cut short
+            throw new UncheckedIOException(exc);
+        }
+
+        if (advanced)
+            action.accept(record);
+        return advanced;
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        if (closed)
+            return 0;
+        return (size - position + recordSize - 1) / recordSize;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        record = null;
+        if (ownsChannel)
+            channel.close();
+    }
+
+    private boolean advance() throws IOException {
+        if (closed || position >= size)
+            return false;
+
+        if (record == null || position >= windowStart + record.capacity())
+            map(position);
+
+        final int from = (int) (position - windowStart);
+        final int length = (int) Math.min(recordSize, size - position);
+        record.clear();
+        record.limit(from + length);
+        record.position(from);
+        position += length;
+        return true;
+    }
+
+    private void map(final long start) throws IOException {
+        final MappedByteBuffer window =
+                channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+        windowStart = start;
+        record = window.asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ Merges Iters that are already sorted into one sorted Iter (an N-way
+ merge). A MinHeap holds a cursor for each Iter that has not ended, ordered
+ by the element it pulled last. Each pull returns the element of the cursor
+ at the top of the heap, pulls the next one from its Iter and sifts it down,
+ so it costs O(log N) comparisons, and only one element of each Iter is kept
+ at a time.
+
+ For equal elements the one from the Iter that was given earlier is
+ returned first. The Iters are pulled for the first time with the first
+ pull of the MergeSortedIter.
+ */
+public final class MergeSortedIter<T> implements Iter<T> {
+    private final Iter<? extends T>[] iters;
+    private final Comparator<? super T> comparator;
+    private MinHeap<Cursor<T>> heap;
+
+    public MergeSortedIter(final Comparator<? super T> comparator,
+                           final Iter<? extends T>[] iters) {
+        this.comparator = comparator;
+        this.iters = iters;
+    }
+
+    @Override
+    public Try<T> next() {
+        final Cursor<T> cursor = top();
+        return cursor == null ? EndOfIter.failure() : Try.success(take(cursor));
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        final Cursor<T> cursor = top();
+        if (cursor == null)
+            return false;
+
+        action.accept(take(cursor));
+        return true;
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        // once the merge has started the cursors hold the elements already
+        // pulled from the Iters, the size is not tracked after that
+        if (heap != null)
+            return -1;
+
+        long size = 0;
+        for (final Iter<? extends T> iter : iters) {
+            final long iterSize = iter.exactSizeIfKnown();
+            if (iterSize < 0)
+                return -1;
+            size += iterSize;
+            if (size < 0)
+                return -1;
+        }
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return exactSizeIfKnown() < 0
+                ? Spliterator.ORDERED
+                : Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    private Cursor<T> top() {
+        if (heap == null) {
+            heap = new MinHeap<>(this::compare, iters.length);
+            for (int i = 0; i < iters.length; i++) {
+                final Cursor<T> cursor = new Cursor<>(iters[i], i);
+                iters[i] = null;
+                if (cursor.advance())
+                    heap.add(cursor);
+            }
+        }
+        return heap.peek();
+    }
+
+    private T take(final Cursor<T> cursor) {
+        final T value = cursor.head;
+        if (cursor.advance()) {
+            heap.siftTop();
+        } else {
+            heap.poll();
+        }
+        return value;
+    }
+
+    private int compare(final Cursor<T> first, final Cursor<T> second) {
+        final int result = comparator.compare(first.head, second.head);
+        return result != 0 ? result : Integer.compare(first.order, second.order);
+    }
+
+    private static final class Cursor<T> implements Consumer<T> {
+        private final Iter<? extends T> iter;
+        private final int order;
+        T head;
+
+        Cursor(final Iter<? extends T> iter, final int order) {
+            this.iter = iter;
+            this.order = order;
+        }
+
+        boolean advance() {
+            if (iter.tryAdvance(this))
+                return true;
+            head = null;
+            return false;
+        }
+
+        @Override
+        public void accept(final T value) {
+            head = value;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.ajoz.iter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/*
+ A binary min-heap in an array, used for the k-way merges. Merging keeps
+ polling the smallest source, taking one element from it and putting it
+ back. With a PriorityQueue that is a poll and an offer (two sifts). Here
+ the source stays at the top and only siftTop is called after its head
+ changed, which is a single sift down.
+ */
+final class MinHeap<E> {
+    private final Comparator<? super E> comparator;
+    private Object[] elements;
+    private int size;
+
+    MinHeap(final Comparator<? super E> comparator, final int capacity) {
+        this.comparator = comparator;
+        this.elements = new Object[Math.max(capacity, 1)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void add(final E element) {
+        if (size == elements.length)
+            elements = Arrays.copyOf(elements, size * 2);
+        elements[size] = element;
+        siftUp(size++);
+    }
+
+    @SuppressWarnings("unchecked")
+    E peek() {
+        return size == 0 ? null : (E) elements[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    E poll() {
+        if (size == 0)
+            return null;
+
+        final E top = (E) elements[0];
+        elements[0] = elements[--size];
+        elements[size] = null;
+        if (size > 0)
+            siftDown(0);
+        return top;
+    }
+
+    // the top element has changed, it needs to move down to its place
+    void siftTop() {
+        if (size > 1)
+            siftDown(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void siftUp(final int from) {
+        final E element = (E) elements[from];
+        int index = from;
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (comparator.compare(element, (E) elements[parent]) >= 0)
+                break;
+            elements[index] = elements[parent];
+            index = parent;
+        }
+        elements[index] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void siftDown(final int from) {
+        final E element = (E) elements[from];
+        int index = from;
+        final int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            final int right = child + 1;
+            if (right < size && comparator.compare((E) elements[right], (E) elements[child]) < 0)
+                child = right;
+            if (comparator.compare(element, (E) elements[child]) <= 0)
+                break;
+            elements[index] = elements[child];
+            index = child;
+        }
+        elements[index] = element;
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.ajoz.iter;
+
+// reports nothing, Iter.instrument returns the Iter as it is for it
+final class NoopIterMetrics implements IterMetrics, StageMetrics {
+    static final NoopIterMetrics INSTANCE = new NoopIterMetrics();
+
+    private NoopIterMetrics() {
+    }
+
+    @Override
+    public StageMetrics stage(final String name) {
+        return this;
+    }
+
+    @Override
+    public void element() {
+    }
+
+    @Override
+    public void failure(final Throwable failure) {
+    }
+
+    @Override
+    public void sample(final long nanos, final long allocatedBytes) {
+    }
+}
@@ -3,11 +3,16 @@ package io.github.ajoz.iter;
 import io.github.ajoz.util.Try;
 
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
-public final class OnEachIter<T> implements Iter<T> {
+public final class OnEachIter<T> implements Iter<T>, AutoCloseable {
     private final Iter<T> upstream;
     private final Consumer<? super T> action;
 
+    private final Consumer<T> sink = this::push;
+    private Consumer<? super T> downstream;
+
     public OnEachIter(final Iter<T> upstream,
                       final Consumer<? super T> action) {
         this.upstream = upstream;
@@ -20,4 +25,52 @@ public final class OnEachIter<T> implements Iter<T> {
         // to implement it manually
         return upstream.next().ifSuccess(action);
     }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        downstream = action;
+        return upstream.tryAdvance(sink);
+    }
+
+    // peeking does not change the elements
+    @Override
+    public long exactSizeIfKnown() {
+        return upstream.exactSizeIfKnown();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics();
+    }
+
+    @Override
+    public void close() {
+        Iters.close(upstream);
+    }
+
+    // consecutive map, filter and onEach stages are fused into a single
+    // stage, see FusedIter for details
+    @Override
+    public <U> Iter<U> map(final Function<? super T, ? extends U> mapper) {
+        return fused().map(mapper);
+    }
+
+    @Override
+    public Iter<T> filter(final Predicate<? super T> predicate) {
+        return fused().filter(predicate);
+    }
+
+    @Override
+    public Iter<T> onEach(final Consumer<? super T> action) {
+        return fused().onEach(action);
+    }
+
+    private FusedIter<T, T> fused() {
+        return FusedIter.ofOnEach(upstream, action);
+    }
+
+    private void push(final T value) {
+        action.accept(value);
+        downstream.accept(value);
+    }
 }
@@ -0,0 +1,166 @@
+package io.github.ajoz.iter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/*
+ An Iter works on a single thread, it pulls one element at a time. For CPU
+ heavy mappers over a big array this means only one core is doing the work.
+
+ ParallelIter is what Iter.parallel() returns. It is not an Iter, it does not
+ have next(), as pulling a single element does not make any sense here. It
+ only collects the map and filter stages (fused the same way as in the
+ FusedIter) and runs them when one of the terminal operations is called:
+
+ - the source Spliterator is split into parts with trySplit
+ - each part is processed by a separate task on the ForkJoinPool
+ - the results of the parts are merged in the order of the source
+
+ The mapper and predicate functions are called from the threads of the pool,
+ so they need to be thread safe. Sources that know their size and can be
+ split evenly (ArrayIter, ListIter) work best, other Iters are split in
+ batches by the Spliterator returned from Iterable.spliterator().
+ */
+public final class ParallelIter<T> {
+    // how many parts per thread of the pool, more parts than threads gives
+    // the pool a chance to balance the work if the parts are not even
+    private static final int PARTS_PER_THREAD = 4;
+
+    private final Spliterator<?> source;
+    private final FusedOperations operations;
+    private final ForkJoinPool pool;
+
+    ParallelIter(final Spliterator<?> source,
+                 final FusedOperations operations,
+                 final ForkJoinPool pool) {
+        this.source = source;
+        this.operations = operations;
+        this.pool = pool;
+    }
+
+    public <R> ParallelIter<R> map(final Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "Function passed to ParallelIter.map cannot be null!");
+        return new ParallelIter<>(source, operations.map(mapper), pool);
+    }
+
+    public ParallelIter<T> filter(final Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "Predicate passed to ParallelIter.filter cannot be null!");
+        return new ParallelIter<>(source, operations.filter(predicate), pool);
+    }
+
+    // this is a terminal operation
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        final long size = source.estimateSize();
+        final long threshold = size == Long.MAX_VALUE
+                ? 1
+                : Math.max(1, size / ((long) pool.getParallelism() * PARTS_PER_THREAD));
+        final Part result = pool.invoke(new PartTask(source, operations, threshold));
+        return (List<T>) result.flatten();
+    }
+
+    // this is a terminal operation, the action is called on the calling
+    // thread in the order of the source
+    public void forEach(final Consumer<? super T> action) {
+        Objects.requireNonNull(action, "Consumer passed to ParallelIter.forEach cannot be null!");
+        toList().forEach(action);
+    }
+
+    // this is a terminal operation for the parallel part of the pipeline,
+    // the parallel work is done when this is called
+    public Iter<T> sequential() {
+        return Iter.fromIterable(toList());
+    }
+
+    /*
+     The results of the tasks form a tree that keeps the order of the source,
+     only the leaves hold the elements. It is flattened into a single list
+     at the end, so each element is copied only once no matter how deep the
+     splitting went.
+     */
+    private static final class Part {
+        private final List<Object> elements;
+        private final Part left;
+        private final Part right;
+        private final int size;
+
+        Part(final List<Object> elements) {
+            this.elements = elements;
+            this.left = null;
+            this.right = null;
+            this.size = elements.size();
+        }
+
+        Part(final Part left, final Part right) {
+            this.elements = null;
+            this.left = left;
+            this.right = right;
+            this.size = left.size + right.size;
+        }
+
+        List<Object> flatten() {
+            final List<Object> flat = new ArrayList<>(size);
+            final Deque<Part> parts = new ArrayDeque<>();
+            parts.push(this);
+            while (!parts.isEmpty()) {
+                final Part part = parts.pop();
+                if (part.elements != null) {
+                    flat.addAll(part.elements);
+                } else {
+                    parts.push(part.right);
+                    parts.push(part.left);
+                }
+            }
+            return flat;
+        }
+    }
+
+    private static final class PartTask extends RecursiveTask<Part> {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<?> spliterator;
+        private final FusedOperations operations;
+        private final long threshold;
+
+        PartTask(final Spliterator<?> spliterator,
+                 final FusedOperations operations,
+                 final long threshold) {
+            this.spliterator = spliterator;
+            this.operations = operations;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Part compute() {
+            if (spliterator.estimateSize() > threshold) {
+                // trySplit returns the prefix of the elements, so it is the
+                // left part and what stays in the spliterator is the right one
+                final Spliterator<?> prefix = spliterator.trySplit();
+                if (prefix != null) {
+                    final PartTask left = new PartTask(prefix, operations, threshold);
+                    final PartTask right = new PartTask(spliterator, operations, threshold);
+                    left.fork();
+                    final Part rightPart = right.compute();
+                    return new Part(left.join(), rightPart);
+                }
+            }
+
+            final List<Object> elements = new ArrayList<>();
+            spliterator.forEachRemaining(value -> {
+                final Object result = operations.apply(value);
+                if (result != FusedOperations.SKIP)
+                    elements.add(result);
+            });
+            return new Part(elements);
+        }
+    }
+}
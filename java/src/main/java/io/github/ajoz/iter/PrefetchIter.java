@@ -0,0 +1,253 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/*
+ If the upstream is slow (an Iterator doing blocking I/O, an expensive
+ generator) then each next() stalls the consumer until the upstream produces
+ the element. PrefetchIter moves pulling the upstream to a separate producer
+ thread, which puts the elements into a bounded buffer (a ring buffer in the
+ ArrayBlockingQueue). The consumer takes them from the buffer, so producing
+ and consuming overlap. When the buffer is full the producer waits.
+
+ - the producer is started with the first pull, not when the Iter is built
+ - a Failure returned by the upstream (the end of it or an error) is passed
+   to the consumer as it is, after all the elements before it
+ - an exception thrown by the upstream (for example by a mapper) is thrown
+   from the consumer's next() or tryAdvance
+ - close() cancels the producer, it is also called by a TakeIter that has
+   taken all it needed
+ - if the consumer thread is interrupted while waiting, next() returns the
+   InterruptedException as the Failure and tryAdvance (and with it forEach
+   and toList) throws it wrapped in an IllegalStateException; the thread
+   stays interrupted and the producer is cancelled
+
+ After prefetch the upstream belongs to the producer thread, it should not be
+ used directly anymore.
+ */
+public final class PrefetchIter<T> implements Iter<T>, AutoCloseable {
+    private static final Object NULL = new Object();
+
+    private final Iter<T> upstream;
+    private final BlockingQueue<Object> buffer;
+    private final ThreadFactory threadFactory;
+
+    private final Consumer<T> sink = this::put;
+    private volatile boolean cancelled;
+    private Thread producer;
+    // the Ended or the Thrown that ended the upstream, once it was taken
+    // from the buffer
+    private Object terminal;
+
+    public PrefetchIter(final Iter<T> upstream,
+                        final int capacity,
+                        final ThreadFactory threadFactory) {
+        this.upstream = upstream;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.threadFactory = threadFactory;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Try<T> next() {
+        final Object item;
+        try {
+            item = take();
+        } catch (final InterruptedException exc) {
+            return Try.failure(exc);
+        }
+        if (item instanceof Thrown)
+            throw ((Thrown) item).rethrow();
+        if (item instanceof Ended)
+            return (Try<T>) ((Ended) item).failure;
+        return Try.success(unwrap(item));
+    }
+
+    // returning false on an interrupt would look like the end to forEach and
+    // toList, the elements still coming from the upstream would be silently
+    // dropped
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        final Object item;
+        try {
+            item = take();
+        } catch (final InterruptedException exc) {
+            throw new IllegalStateException("Interrupted while waiting for the upstream of the PrefetchIter!", exc);
+        }
+        if (item instanceof Thrown)
+            throw ((Thrown) item).rethrow();
+        if (item instanceof Ended)
+            return false;
+        action.accept(unwrap(item));
+        return true;
+    }
+
+    @Override
+    public void close() {
+        cancelled = true;
+        if (producer != null)
+            producer.interrupt();
+        buffer.clear();
+        if (terminal == null)
+            terminal = new Ended(EndOfIter.failure());
+    }
+
+    // an element, or the Ended or the Thrown that ended the upstream
+    private Object take() throws InterruptedException {
+        if (terminal != null)
+            return terminal instanceof Thrown ? new Ended(EndOfIter.failure()) : terminal;
+
+        if (producer == null) {
+            producer = threadFactory.newThread(this::produce);
+            producer.start();
+        }
+
+        final Object item;
+        try {
+            item = buffer.take();
+        } catch (final InterruptedException exc) {
+            // the consumer was interrupted, it will not wait for more
+            Thread.currentThread().interrupt();
+            close();
+            throw exc;
+        }
+
+        if (item instanceof Thrown || item instanceof Ended)
+            terminal = item;
+        return item;
+    }
+
+    /*
+     An upstream with its own tryAdvance is pulled with it, so the producer
+     does not create a Try for each element. Only the default tryAdvance
+     hides a Failure returned by next (it looks like the end), so such an
+     upstream is pulled with next instead, which costs the same as the
+     default tryAdvance would and passes the Failure to the consumer.
+     */
+    private void produce() {
+        try {
+            final Object last = pull();
+            if (last != null)
+                buffer.put(last);
+        } catch (final InterruptedException exc) {
+            // the consumer closed the Iter
+        } finally {
+            if (upstream instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) upstream).close();
+                } catch (final Exception ignored) {
+                    // there is no one to tell about it, the consumer does not
+                    // wait for the upstream anymore
+                }
+            }
+        }
+    }
+
+    // puts the elements into the buffer and returns what ended the upstream,
+    // or null if the Iter was closed
+    private Object pull() throws InterruptedException {
+        try {
+            if (Iters.hasOwnTryAdvance(upstream)) {
+                while (!cancelled && upstream.tryAdvance(sink)) {
+                    // the sink already put the element into the buffer
+                }
+                return cancelled ? null : new Ended(EndOfIter.failure());
+            }
+
+            while (!cancelled) {
+                final Try<T> next = upstream.next();
+                if (next.isFailure())
+                    return new Ended(next);
+                buffer.put(wrap(next.get()));
+            }
+            return null;
+        } catch (final InterruptedException exc) {
+            throw exc;
+        } catch (final Throwable exc) {
+            return new Thrown(exc);
+        }
+    }
+
+    private void put(final T value) {
+        try {
+            buffer.put(wrap(value));
+        } catch (final InterruptedException exc) {
+            // the consumer closed the Iter, the producer loop stops on the
+            // cancelled flag
+            cancelled = true;
+        }
+    }
+
+    // the buffer does not accept null
+    private static Object wrap(final Object value) {
+        return value == null ? NULL : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T unwrap(final Object item) {
+        return item == NULL ? null : (T) item;
+    }
+
+    /*
+     Virtual threads are cheap, so they are the best fit for a producer that
+     spends most of its time waiting for I/O or for the consumer. They are
+     used when the Java version has them, otherwise a daemon thread is used,
+     so a forgotten PrefetchIter does not keep the VM alive.
+     */
+    static ThreadFactory defaultThreadFactory() {
+        return DefaultThreadFactory.INSTANCE;
+    }
+
+    private static final class DefaultThreadFactory {
+        private static final AtomicInteger COUNT = new AtomicInteger();
+        private static final ThreadFactory INSTANCE = create();
+
+        private static ThreadFactory create() {
+            try {
+                final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                        .getMethod("factory")
+                        .invoke(builder);
+            } catch (final ReflectiveOperationException | RuntimeException exc) {
+                return runnable -> {
+                    final Thread thread = new Thread(runnable, "iter-prefetch-" + COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+            }
+        }
+    }
+
+    // the Failure that ended the upstream, on its way to the consumer; it is
+    // wrapped so it cannot be mistaken for an element that is a Try
+    private static final class Ended {
+        private final Try<?> failure;
+
+        Ended(final Try<?> failure) {
+            this.failure = failure;
+        }
+    }
+
+    // an exception thrown by the upstream, on its way to the consumer
+    private static final class Thrown {
+        private final Throwable throwable;
+
+        Thrown(final Throwable throwable) {
+            this.throwable = throwable;
+        }
+
+        RuntimeException rethrow() {
+            if (throwable instanceof RuntimeException)
+                throw (RuntimeException) throwable;
+            if (throwable instanceof Error)
+                throw (Error) throwable;
+            throw new IllegalStateException("Upstream of the PrefetchIter failed!", throwable);
+        }
+    }
+}
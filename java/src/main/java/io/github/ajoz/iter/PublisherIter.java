@@ -0,0 +1,148 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/*
+ An Iter over the elements pushed by a Flow.Publisher. The Iter subscribes
+ with the first pull and requests at most prefetch elements ahead of the
+ consumer, so the Publisher never pushes more than the buffer can hold. After
+ three quarters of the prefetched elements were taken, the same number is
+ requested again, so the Publisher can go on while the rest is consumed.
+
+ A pull waits until the Publisher pushes an element. onComplete ends the Iter
+ (like the end of any other Iter) and the exception passed to onError is
+ returned as the Failure after all the elements pushed before it. close
+ cancels the Subscription, a take that has taken all it needed does that.
+ */
+public final class PublisherIter<T> implements Iter<T>, AutoCloseable {
+    private final Flow.Publisher<? extends T> publisher;
+    private final int prefetch;
+    private final int replenish;
+    // one more slot for the onComplete or onError
+    private final BlockingQueue<Object> buffer;
+
+    private volatile Flow.Subscription subscription;
+    private boolean subscribed;
+    private int consumed;
+    private Try<T> terminal;
+
+    public PublisherIter(final Flow.Publisher<? extends T> publisher,
+                         final int prefetch) {
+        this.publisher = publisher;
+        this.prefetch = prefetch;
+        this.replenish = Math.max(1, prefetch - prefetch / 4);
+        this.buffer = new ArrayBlockingQueue<>(prefetch + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Try<T> next() {
+        final Object item = take();
+        return item instanceof Terminal ? (Try<T>) ((Terminal) item).failure : Try.success((T) item);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        final Object item = take();
+        if (item instanceof Terminal)
+            return false;
+
+        action.accept((T) item);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (terminal == null)
+            terminal = EndOfIter.failure();
+        final Flow.Subscription current = subscription;
+        if (current != null)
+            current.cancel();
+        buffer.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object take() {
+        if (terminal != null)
+            return new Terminal(terminal);
+
+        if (!subscribed) {
+            subscribed = true;
+            publisher.subscribe(new Subscriber());
+        }
+
+        final Object item;
+        try {
+            item = buffer.take();
+        } catch (final InterruptedException exc) {
+            // the consumer was interrupted, it will not wait for more
+            Thread.currentThread().interrupt();
+            close();
+            terminal = Try.failure(exc);
+            return new Terminal(terminal);
+        }
+
+        if (item instanceof Terminal) {
+            terminal = (Try<T>) ((Terminal) item).failure;
+            return item;
+        }
+
+        if (++consumed == replenish) {
+            consumed = 0;
+            subscription.request(replenish);
+        }
+        return item;
+    }
+
+    private final class Subscriber implements Flow.Subscriber<T> {
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            if (PublisherIter.this.subscription != null) {
+                subscription.cancel();
+                return;
+            }
+            PublisherIter.this.subscription = subscription;
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(final T item) {
+            if (buffer.size() >= prefetch || !buffer.offer(item)) {
+                // only a Publisher that does not honor the demand can fill
+                // the buffer
+                subscription.cancel();
+                onError(new IllegalStateException("Publisher pushed more than requested!"));
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            terminate(Try.failure(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(EndOfIter.failure());
+        }
+
+        // the terminal slot is free unless the Publisher has already
+        // signalled the end, then the second signal is ignored
+        private void terminate(final Try<?> failure) {
+            buffer.offer(new Terminal(failure));
+        }
+    }
+
+    private static final class Terminal {
+        private final Try<?> failure;
+
+        Terminal(final Try<?> failure) {
+            this.failure = failure;
+        }
+    }
+}
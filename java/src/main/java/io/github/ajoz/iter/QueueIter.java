@@ -0,0 +1,93 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/*
+ An Iter that takes the elements from a BlockingQueue, waiting for each one
+ until a producer puts it there. The Iterator of a BlockingQueue does not
+ wait: it returns what is in the queue at the moment and ends, so it does
+ not fit a producer that is still working.
+
+ The producer ends the Iter explicitly, in one of two ways:
+
+ - with a poison pill: an element (compared with equals) that the producer
+   puts into the queue after the last one, it is not returned
+ - with a timeout: if there is no element for that long the Iter ends
+
+ If the consumer thread is interrupted while waiting, the Iter ends with the
+ InterruptedException as the Failure and the thread stays interrupted.
+ */
+public final class QueueIter<T> implements Iter<T> {
+    private final BlockingQueue<T> queue;
+    private final T poisonPill;
+    private final long timeoutNanos;
+    private final boolean timed;
+
+    private final Consumer<T> store = this::keep;
+    private T next;
+    private Try<T> end;
+
+    private QueueIter(final BlockingQueue<T> queue,
+                      final T poisonPill,
+                      final long timeoutNanos,
+                      final boolean timed) {
+        this.queue = queue;
+        this.poisonPill = poisonPill;
+        this.timeoutNanos = timeoutNanos;
+        this.timed = timed;
+    }
+
+    public static <T> QueueIter<T> withPoisonPill(final BlockingQueue<T> queue, final T poisonPill) {
+        return new QueueIter<>(queue, poisonPill, 0, false);
+    }
+
+    public static <T> QueueIter<T> withTimeout(final BlockingQueue<T> queue,
+                                               final long timeout,
+                                               final TimeUnit unit) {
+        return new QueueIter<>(queue, null, unit.toNanos(timeout), true);
+    }
+
+    @Override
+    public Try<T> next() {
+        if (!tryAdvance(store))
+            return end;
+
+        final T value = next;
+        next = null;
+        return Try.success(value);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (end != null)
+            return false;
+
+        final T value;
+        try {
+            value = timed ? queue.poll(timeoutNanos, TimeUnit.NANOSECONDS) : queue.take();
+        } catch (final InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            end = Try.failure(exc);
+            return false;
+        }
+
+        // a null from poll means the time is out, no BlockingQueue accepts
+        // null elements
+        if (timed ? value == null : Objects.equals(value, poisonPill)) {
+            end = EndOfIter.failure();
+            return false;
+        }
+
+        action.accept(value);
+        return true;
+    }
+
+    private void keep(final T value) {
+        next = value;
+    }
+}
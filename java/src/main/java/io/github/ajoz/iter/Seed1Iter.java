@@ -2,11 +2,14 @@ package io.github.ajoz.iter;
 
 import io.github.ajoz.util.Try;
 
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 public final class Seed1Iter<T> implements Iter<T> {
     private final Function<T, T> generator;
     private T seed;
+    private boolean started;
 
     public Seed1Iter(final T seed,
                      final Function<T, T> generator) {
@@ -16,9 +19,30 @@ public final class Seed1Iter<T> implements Iter<T> {
 
     @Override
     public Try<T> next() {
-        final Try<T> next = Try.success(seed);
         // should this halt if an exception occurs in generator function?
-        seed = generator.apply(seed);
-        return next;
+        return Try.success(advance());
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        action.accept(advance());
+        return true;
+    }
+
+    // the elements are generated, so there is no source that could be
+    // modified, the same as for Stream.iterate
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.IMMUTABLE;
+    }
+
+    // the next value is generated only when it is asked for, so for example
+    // taking n elements calls the generator only n - 1 times
+    private T advance() {
+        if (started)
+            seed = generator.apply(seed);
+        else
+            started = true;
+        return seed;
     }
 }
@@ -0,0 +1,32 @@
+package io.github.ajoz.iter;
+
+import java.util.HashSet;
+
+/*
+ Remembers the elements already returned by Iter.distinct. The default one
+ is exact and keeps every distinct element in a HashSet, so its memory grows
+ with the number of distinct elements.
+
+ For very large numbers of distinct elements the bloom SeenSet keeps only a
+ fixed size array of bits. It never lets a duplicate through, but with the
+ given probability it treats a new element as already seen, so distinct
+ drops it. It fits for example approximate counting or deduplicating
+ events where losing a small fraction of them is acceptable.
+ */
+public interface SeenSet<T> {
+    // returns true if the value was not seen before (and remembers it)
+    boolean add(T value);
+
+    static <T> SeenSet<T> hashed() {
+        final HashSet<T> seen = new HashSet<>();
+        return seen::add;
+    }
+
+    static <T> SeenSet<T> bloom(final long expectedElements, final double falsePositiveRate) {
+        if (expectedElements <= 0)
+            throw new IllegalArgumentException("Expected elements passed to SeenSet.bloom need to be positive!");
+        if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0))
+            throw new IllegalArgumentException("False positive rate passed to SeenSet.bloom needs to be between 0 and 1!");
+        return new BloomSeenSet<>(expectedElements, falsePositiveRate);
+    }
+}
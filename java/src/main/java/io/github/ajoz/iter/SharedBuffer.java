@@ -0,0 +1,110 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.function.Consumer;
+
+/*
+ The elements pulled from the upstream by share and cache. They are kept in
+ a linked list of fixed size segments, new elements are only appended to the
+ last segment. Each cursor (a SharedIter) remembers its own segment and the
+ index in it, and it pulls the upstream only if it is the first one to reach
+ the end of the buffer.
+
+ The buffer itself knows only the last segment, so a segment that all the
+ cursors have left is not reachable anymore and the GC reclaims it. The
+ memory used is the distance between the slowest and the fastest cursor
+ (rounded up to whole segments), not the whole upstream.
+
+ The cursors can be read from different threads (each cursor by one thread
+ at a time). Pulling the upstream and appending is done under the lock of
+ the buffer, so the upstream is still pulled by one thread at a time. The
+ cursors read without the lock: the count and the next segment are volatile
+ and written after the item, so a cursor that sees the count sees the item.
+ */
+final class SharedBuffer<T> {
+    static final int SEGMENT_SIZE = 64;
+
+    private final Iter<T> upstream;
+    /*
+     An upstream with its own tryAdvance is pulled with it, so no Try is
+     created for each element. The default tryAdvance makes a Failure look
+     like the end, so such an upstream is pulled with next instead, which
+     costs the same and keeps the Failure for the cursors.
+     */
+    private final boolean ownTryAdvance;
+    private final Consumer<T> sink = this::append;
+    private Segment tail = new Segment();
+    // the Failure that ended the upstream, returned to every cursor
+    private volatile Try<T> end;
+
+    SharedBuffer(final Iter<T> upstream) {
+        this.upstream = upstream;
+        this.ownTryAdvance = Iters.hasOwnTryAdvance(upstream);
+    }
+
+    synchronized Segment tail() {
+        return tail;
+    }
+
+    Try<T> end() {
+        return end;
+    }
+
+    /*
+     Pulls one element from the upstream into the buffer for a cursor at the
+     given position, returns false if the upstream has ended. If another
+     cursor appended elements while this one was waiting for the lock, there
+     is nothing to pull, the cursor reads them first.
+     */
+    synchronized boolean fill(final Segment segment, final int index) {
+        if (segment != tail || index != segment.count)
+            return true;
+        if (end != null)
+            return false;
+
+        if (ownTryAdvance) {
+            if (upstream.tryAdvance(sink))
+                return true;
+            finish(EndOfIter.failure());
+            return false;
+        }
+
+        final Try<T> next = upstream.next();
+        if (next.isFailure()) {
+            finish(next);
+            return false;
+        }
+        append(next.get());
+        return true;
+    }
+
+    private void append(final T item) {
+        Segment segment = tail;
+        if (segment.count == SEGMENT_SIZE) {
+            segment = new Segment();
+            tail.next = segment;
+            tail = segment;
+        }
+        final int count = segment.count;
+        segment.items[count] = item;
+        segment.count = count + 1;
+    }
+
+    private void finish(final Try<T> failure) {
+        end = failure;
+        if (upstream instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) upstream).close();
+            } catch (final Exception ignored) {
+                // the upstream has ended, there is nothing more to read
+            }
+        }
+    }
+
+    static final class Segment {
+        final Object[] items = new Object[SEGMENT_SIZE];
+        volatile int count;
+        volatile Segment next;
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.function.Consumer;
+
+/*
+ A cursor over a SharedBuffer, see share and cache. Each cursor has its own
+ position, reading from one of them does not change what the others return.
+ Different cursors can be read from different threads, but a single cursor
+ is not thread-safe, like any other Iter.
+ */
+public final class SharedIter<T> implements Iter<T> {
+    private final SharedBuffer<T> buffer;
+    private SharedBuffer.Segment segment;
+    private int index;
+
+    SharedIter(final SharedBuffer<T> buffer,
+               final SharedBuffer.Segment segment) {
+        this.buffer = buffer;
+        this.segment = segment;
+    }
+
+    @Override
+    public Try<T> next() {
+        if (!available())
+            return buffer.end();
+        return Try.success(take());
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (!available())
+            return false;
+        action.accept(take());
+        return true;
+    }
+
+    // moves to the next segment if this one was read already and pulls the
+    // upstream if this cursor is at the end of the buffer
+    private boolean available() {
+        while (index == segment.count) {
+            if (index == SharedBuffer.SEGMENT_SIZE && segment.next != null) {
+                segment = segment.next;
+                index = 0;
+            } else if (!buffer.fill(segment, index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T take() {
+        return (T) segment.items[index++];
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.ajoz.iter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ IterMetrics that keep the numbers in memory, for tests, benchmarks and
+ finding the slow stage of a pipeline by hand.
+
+ The stages are kept in the order in which the pipeline was built, so if
+ each stage of interest is followed by an instrument, the numbers of a
+ stage can be compared with the stage before it:
+
+ Iter.fromLines(path)
+     .instrument("read", metrics)
+     .filter(line -> ...)
+     .instrument("filter", metrics)
+     .map(line -> ...)
+     .instrument("parse", metrics)
+
+ - the selectivity of "filter" is the number of elements that passed it
+   divided by the number of elements that passed "read"
+ - the time and the allocation of a sampled element are measured for the
+   whole pipeline up to the instrument, the cost of the stage alone is the
+   difference between its average and the average of the stage before it,
+   multiplied by the number of elements
+
+ The counters are not synchronized, the metrics should be read by the
+ thread that pulls the pipeline (or after it is done).
+ */
+public final class SimpleIterMetrics implements IterMetrics {
+    private final int samplingInterval;
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+
+    SimpleIterMetrics(final int samplingInterval) {
+        this.samplingInterval = samplingInterval;
+    }
+
+    @Override
+    public synchronized Stage stage(final String name) {
+        return stages.computeIfAbsent(name, Stage::new);
+    }
+
+    @Override
+    public int samplingInterval() {
+        return samplingInterval;
+    }
+
+    public synchronized List<Stage> stages() {
+        return Collections.unmodifiableList(new ArrayList<>(stages.values()));
+    }
+
+    // the fraction of the elements of the previous stage that passed the
+    // given one, 1.0 for the first stage
+    public synchronized double selectivity(final String name) {
+        final Stage previous = previous(name);
+        final Stage stage = stages.get(name);
+        if (stage == null)
+            throw new IllegalArgumentException("There is no stage: " + name);
+        if (previous == null)
+            return 1.0;
+        return previous.elements == 0 ? 0.0 : (double) stage.elements / previous.elements;
+    }
+
+    // an estimate of the time spent in the stages between the previous
+    // instrument and the given one, for all the elements
+    public synchronized double selfNanos(final String name) {
+        final Stage stage = stages.get(name);
+        if (stage == null)
+            throw new IllegalArgumentException("There is no stage: " + name);
+        final Stage previous = previous(name);
+        final double before = previous == null ? 0 : previous.averageNanos() * previous.elements;
+        return stage.averageNanos() * stage.elements - before;
+    }
+
+    @Override
+    public synchronized String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (final Stage stage : stages.values()) {
+            builder.append(stage).append(String.format(" selectivity=%.3f", selectivity(stage.name))).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private Stage previous(final String name) {
+        Stage previous = null;
+        for (final Stage stage : stages.values()) {
+            if (stage.name.equals(name))
+                return previous;
+            previous = stage;
+        }
+        return null;
+    }
+
+    public static final class Stage implements StageMetrics {
+        private final String name;
+        private long elements;
+        private long failures;
+        private long samples;
+        private long sampledNanos;
+        private long sampledBytes;
+        private boolean bytesUnknown;
+
+        Stage(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void element() {
+            elements++;
+        }
+
+        @Override
+        public void failure(final Throwable failure) {
+            failures++;
+        }
+
+        @Override
+        public void sample(final long nanos, final long allocatedBytes) {
+            samples++;
+            sampledNanos += nanos;
+            if (allocatedBytes < 0) {
+                bytesUnknown = true;
+            } else {
+                sampledBytes += allocatedBytes;
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long elements() {
+            return elements;
+        }
+
+        public long failures() {
+            return failures;
+        }
+
+        public long samples() {
+            return samples;
+        }
+
+        public double averageNanos() {
+            return samples == 0 ? 0.0 : (double) sampledNanos / samples;
+        }
+
+        // -1 if the JVM cannot measure the allocation
+        public double averageBytes() {
+            if (bytesUnknown)
+                return -1;
+            return samples == 0 ? 0.0 : (double) sampledBytes / samples;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: elements=%d failures=%d samples=%d avgNanos=%.1f avgBytes=%.1f",
+                    name, elements, failures, samples, averageNanos(), averageBytes());
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ Sorts an Iter that might not fit into the memory (an external merge sort):
+
+ 1. the upstream is read in runs of runSize elements, each run is sorted in
+    the memory and written to a temporary file with the SpillSerializer
+ 2. if there are more runs than fanIn, groups of fanIn runs are merged into
+    longer runs, until at most fanIn runs are left
+ 3. the remaining runs are merged lazily while this Iter is pulled, with a
+    min-heap holding the next element of each run
+
+ If the whole upstream fits into a single run, nothing is written to the
+ disk. The last run is never written either, it is merged from the memory.
+
+ Everything happens with the first pull, after that each pull reads at most
+ one element from a file. The sort is stable: the runs are in the order of
+ the upstream and the heap takes the earlier run when the elements are equal.
+
+ The files of the runs are deleted as soon as they are merged, and close
+ deletes all of them if the Iter is not read to the end.
+ */
+public final class SortedIter<T> implements Iter<T>, AutoCloseable {
+    private final Iter<T> upstream;
+    private final Comparator<? super T> comparator;
+    private final SpillConfig<T> config;
+
+    private final List<FileRun<T>> files = new ArrayList<>();
+    private MinHeap<Run<T>> heap;
+    private IOException failure;
+
+    private long spilledBytes;
+    private int spilledRuns;
+    private int mergePasses;
+
+    public SortedIter(final Iter<T> upstream,
+                      final Comparator<? super T> comparator,
+                      final SpillConfig<T> config) {
+        this.upstream = upstream;
+        this.comparator = comparator;
+        this.config = config;
+    }
+
+    @Override
+    public Try<T> next() {
+        try {
+            return available() ? Try.success(take()) : EndOfIter.failure();
+        } catch (final IOException exc) {
+            return Try.failure(exc);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        final T value;
+        try {
+            if (!available())
+                return false;
+            value = take();
+        } catch (final IOException exc) {
+            // returning false would look like the end of the upstream to
+            // forEach and toList, the sorted data would be silently cut short
+            throw new UncheckedIOException(exc);
+        }
+        action.accept(value);
+        return true;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED;
+    }
+
+    // the number of bytes written to the temporary files, including the
+    // merge passes
+    public long spilledBytes() {
+        return spilledBytes;
+    }
+
+    // the number of runs written to the temporary files, including the runs
+    // written by the merge passes
+    public int spilledRuns() {
+        return spilledRuns;
+    }
+
+    public int mergePasses() {
+        return mergePasses;
+    }
+
+    @Override
+    public void close() {
+        heap = new MinHeap<>(this::compare, 1);
+        for (final FileRun<T> file : files) {
+            file.delete();
+        }
+        files.clear();
+    }
+
+    // after a failure the files are deleted, so every pull fails the same way
+    private boolean available() throws IOException {
+        if (failure != null)
+            throw failure;
+        if (heap == null) {
+            try {
+                heap = merge(runs());
+            } catch (final IOException exc) {
+                throw fail(exc);
+            }
+        }
+        return !heap.isEmpty();
+    }
+
+    private T take() throws IOException {
+        final Run<T> run = heap.peek();
+        final T value = run.head;
+        try {
+            if (run.advance()) {
+                heap.siftTop();
+            } else {
+                heap.poll();
+            }
+        } catch (final IOException exc) {
+            throw fail(exc);
+        }
+        return value;
+    }
+
+    private IOException fail(final IOException exc) {
+        failure = exc;
+        close();
+        return exc;
+    }
+
+    private List<Run<T>> runs() throws IOException {
+        final int runSize = config.runSize();
+        final List<Run<T>> runs = new ArrayList<>();
+        final RunBuilder<T> builder = new RunBuilder<>(runSize);
+
+        boolean more = upstream.tryAdvance(builder);
+        while (more) {
+            while (builder.size < runSize && (more = upstream.tryAdvance(builder))) {
+                // the builder collects the elements
+            }
+
+            final Object[] elements = builder.elements;
+            final int size = builder.size;
+            sort(elements, size);
+
+            // a full run is written only if the upstream has more elements,
+            // the element pulled to check it starts the next run
+            builder.reset();
+            if (more && (more = upstream.tryAdvance(builder))) {
+                runs.add(spill(new MemoryRun<>(elements, size, runs.size())));
+            } else {
+                runs.add(new MemoryRun<>(elements, size, runs.size()));
+            }
+        }
+        return runs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sort(final Object[] elements, final int size) {
+        Arrays.sort((T[]) elements, 0, size, comparator);
+    }
+
+    private MinHeap<Run<T>> merge(final List<Run<T>> runs) throws IOException {
+        List<Run<T>> current = runs;
+        final int fanIn = config.fanIn();
+        while (current.size() > fanIn) {
+            mergePasses++;
+            final List<Run<T>> merged = new ArrayList<>();
+            for (int from = 0; from < current.size(); from += fanIn) {
+                final List<Run<T>> group = current.subList(from, Math.min(from + fanIn, current.size()));
+                merged.add(group.size() == 1
+                        ? group.get(0).withOrder(merged.size())
+                        : spill(new MergedRun<>(heap(group), merged.size())));
+            }
+            current = merged;
+        }
+        return heap(current);
+    }
+
+    private MinHeap<Run<T>> heap(final List<Run<T>> runs) throws IOException {
+        final MinHeap<Run<T>> heap = new MinHeap<>(this::compare, runs.size());
+        for (final Run<T> run : runs) {
+            if (run.advance())
+                heap.add(run);
+        }
+        return heap;
+    }
+
+    private int compare(final Run<T> first, final Run<T> second) {
+        final int result = comparator.compare(first.head, second.head);
+        return result != 0 ? result : Integer.compare(first.order, second.order);
+    }
+
+    private FileRun<T> spill(final Run<T> run) throws IOException {
+        final Path file = config.tempDir() == null
+                ? Files.createTempFile("iter-sort-", ".run")
+                : Files.createTempFile(config.tempDir(), "iter-sort-", ".run");
+        final FileRun<T> spilled = new FileRun<>(file, config, run.order);
+        files.add(spilled);
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), config.bufferSize()))) {
+            while (run.advance()) {
+                config.serializer().write(run.head, out);
+                spilled.count++;
+            }
+        }
+
+        spilledBytes += Files.size(file);
+        spilledRuns++;
+        return spilled;
+    }
+
+    // a sorted sequence of elements, head is the current one after advance
+    // returned true
+    private abstract static class Run<T> {
+        int order;
+        T head;
+
+        Run(final int order) {
+            this.order = order;
+        }
+
+        abstract boolean advance() throws IOException;
+
+        Run<T> withOrder(final int order) {
+            this.order = order;
+            return this;
+        }
+    }
+
+    private static final class MemoryRun<T> extends Run<T> {
+        private final Object[] elements;
+        private final int size;
+        private int index;
+
+        MemoryRun(final Object[] elements, final int size, final int order) {
+            super(order);
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        boolean advance() {
+            if (index == size) {
+                head = null;
+                return false;
+            }
+            head = (T) elements[index];
+            // the run is read only once, the element does not need to be
+            // kept in the array
+            elements[index++] = null;
+            return true;
+        }
+    }
+
+    private static final class MergedRun<T> extends Run<T> {
+        private final MinHeap<Run<T>> heap;
+
+        MergedRun(final MinHeap<Run<T>> heap, final int order) {
+            super(order);
+            this.heap = heap;
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (heap.isEmpty()) {
+                head = null;
+                return false;
+            }
+
+            final Run<T> run = heap.peek();
+            head = run.head;
+            if (run.advance()) {
+                heap.siftTop();
+            } else {
+                heap.poll();
+            }
+            return true;
+        }
+    }
+
+    private static final class FileRun<T> extends Run<T> {
+        private final Path file;
+        private final SpillConfig<T> config;
+        private DataInputStream in;
+        long count;
+
+        FileRun(final Path file, final SpillConfig<T> config, final int order) {
+            super(order);
+            this.file = file;
+            this.config = config;
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (count == 0) {
+                head = null;
+                delete();
+                return false;
+            }
+
+            if (in == null)
+                in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), config.bufferSize()));
+            head = config.serializer().read(in);
+            count--;
+            return true;
+        }
+
+        void delete() {
+            try {
+                if (in != null)
+                    in.close();
+                Files.deleteIfExists(file);
+            } catch (final IOException ignored) {
+                // the file is in a temporary directory, it will be removed
+                // with it eventually
+            }
+        }
+    }
+
+    private static final class RunBuilder<T> implements Consumer<T> {
+        private final int runSize;
+        Object[] elements;
+        int size;
+
+        RunBuilder(final int runSize) {
+            this.runSize = runSize;
+            this.elements = new Object[Math.min(runSize, 1024)];
+        }
+
+        @Override
+        public void accept(final T value) {
+            if (size == elements.length)
+                elements = Arrays.copyOf(elements, (int) Math.min((long) size * 2, runSize));
+            elements[size++] = value;
+        }
+
+        // the previous array belongs to a run now
+        void reset() {
+            elements = new Object[Math.min(runSize, Math.max(elements.length, 1))];
+            size = 0;
+        }
+    }
+}
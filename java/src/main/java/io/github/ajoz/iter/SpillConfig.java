@@ -0,0 +1,92 @@
+package io.github.ajoz.iter;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/*
+ How Iter.sorted spills the elements that do not fit in the memory:
+
+ - runSize: how many elements are sorted in the memory at once, each sorted
+   run is written to its own temporary file
+ - fanIn: how many runs are merged at once, if there are more runs than that
+   then they are first merged into fewer, longer runs (each such pass
+   writes and reads all the elements once more)
+ - tempDir: where the temporary files are created, the default temporary
+   directory if not given
+ - bufferSize: the size of the buffer used for reading and writing each file
+
+ The config is immutable, each with method returns a new one.
+ */
+public final class SpillConfig<T> {
+    static final int DEFAULT_RUN_SIZE = 100_000;
+    static final int DEFAULT_FAN_IN = 64;
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final SpillSerializer<T> serializer;
+    private final int runSize;
+    private final int fanIn;
+    private final Path tempDir;
+    private final int bufferSize;
+
+    private SpillConfig(final SpillSerializer<T> serializer,
+                        final int runSize,
+                        final int fanIn,
+                        final Path tempDir,
+                        final int bufferSize) {
+        this.serializer = serializer;
+        this.runSize = runSize;
+        this.fanIn = fanIn;
+        this.tempDir = tempDir;
+        this.bufferSize = bufferSize;
+    }
+
+    public static <T> SpillConfig<T> of(final SpillSerializer<T> serializer) {
+        Objects.requireNonNull(serializer, "SpillSerializer passed to SpillConfig.of cannot be null!");
+        return new SpillConfig<>(serializer, DEFAULT_RUN_SIZE, DEFAULT_FAN_IN, null, DEFAULT_BUFFER_SIZE);
+    }
+
+    public SpillConfig<T> withRunSize(final int runSize) {
+        if (runSize <= 0)
+            throw new IllegalArgumentException("Run size passed to SpillConfig.withRunSize needs to be positive!");
+        return new SpillConfig<>(serializer, runSize, fanIn, tempDir, bufferSize);
+    }
+
+    // merging needs at least two runs at once to make any progress
+    public SpillConfig<T> withFanIn(final int fanIn) {
+        if (fanIn < 2)
+            throw new IllegalArgumentException("Fan in passed to SpillConfig.withFanIn needs to be at least 2!");
+        return new SpillConfig<>(serializer, runSize, fanIn, tempDir, bufferSize);
+    }
+
+    public SpillConfig<T> withTempDir(final Path tempDir) {
+        Objects.requireNonNull(tempDir, "Path passed to SpillConfig.withTempDir cannot be null!");
+        return new SpillConfig<>(serializer, runSize, fanIn, tempDir, bufferSize);
+    }
+
+    public SpillConfig<T> withBufferSize(final int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Buffer size passed to SpillConfig.withBufferSize needs to be positive!");
+        return new SpillConfig<>(serializer, runSize, fanIn, tempDir, bufferSize);
+    }
+
+    SpillSerializer<T> serializer() {
+        return serializer;
+    }
+
+    int runSize() {
+        return runSize;
+    }
+
+    int fanIn() {
+        return fanIn;
+    }
+
+    // null means the default temporary directory
+    Path tempDir() {
+        return tempDir;
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+}
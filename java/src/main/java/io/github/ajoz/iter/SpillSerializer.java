@@ -0,0 +1,65 @@
+package io.github.ajoz.iter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/*
+ Writes the elements sorted by Iter.sorted to the spill files and reads them
+ back. An element written with write has to be read with read in the same
+ order, the files are not meant to be read by anything else.
+ */
+public interface SpillSerializer<T> {
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+
+    // DataOutput.writeUTF cannot write Strings longer than 64KB, so the
+    // length is written as an int followed by the UTF-8 bytes
+    static SpillSerializer<String> strings() {
+        return new SpillSerializer<String>() {
+            @Override
+            public void write(final String value, final DataOutput out) throws IOException {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            @Override
+            public String read(final DataInput in) throws IOException {
+                final byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    static SpillSerializer<Integer> integers() {
+        return new SpillSerializer<Integer>() {
+            @Override
+            public void write(final Integer value, final DataOutput out) throws IOException {
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer read(final DataInput in) throws IOException {
+                return in.readInt();
+            }
+        };
+    }
+
+    static SpillSerializer<Long> longs() {
+        return new SpillSerializer<Long>() {
+            @Override
+            public void write(final Long value, final DataOutput out) throws IOException {
+                out.writeLong(value);
+            }
+
+            @Override
+            public Long read(final DataInput in) throws IOException {
+                return in.readLong();
+            }
+        };
+    }
+}
@@ -0,0 +1,255 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/*
+ A bounded queue for exactly one producer thread and one consumer thread,
+ read as an Iter on the consumer side.
+
+ With a single producer and a single consumer no locks and no compare and
+ set are needed: the producer is the only one writing the tail index and
+ the consumer is the only one writing the head index. The producer writes
+ the element and then publishes the new tail with a release store, the
+ consumer reads the tail with an acquire load and then the elements before
+ it (and the other way around for the free slots). Each side also caches the
+ last index it has seen of the other side, so it touches the shared index
+ only when the cached one says the buffer is full (or empty).
+
+ The consumer drains all the elements that are available in one go in
+ nextBatch and forEach, moving the head once for the whole batch. nextBatch
+ keeps waiting until the batch is full (or the buffer is closed), as the
+ stages pulling batches take a short batch for the end, forEach hands over
+ whatever it got.
+
+ The producer ends the Iter explicitly with close, the consumer still gets
+ all the elements put before it. A waiting side first spins, then yields
+ and then parks for short periods, so an idle side does not burn a core.
+ If the consumer thread is interrupted while waiting, next returns the
+ InterruptedException as the Failure and the other ways of pulling throw
+ it wrapped in an IllegalStateException, the thread stays interrupted.
+
+ The indices of the consumer and of the producer are kept on separate cache
+ lines, otherwise every write of one side would invalidate the line the
+ other side is reading. The JVM is free to reorder the fields of a class,
+ but not to mix them with the fields of its superclass, so the padding is a
+ chain of superclasses (the same trick as in the JCTools queues).
+ */
+public final class SpscRingBuffer<T> extends SpscProducerPadding {
+    private static final int INTERRUPTED = -1;
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscConsumerIndex.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscProducerIndex.class, "tail", long.class);
+        } catch (final ReflectiveOperationException exc) {
+            throw new ExceptionInInitializerError(exc);
+        }
+    }
+
+    private final Object[] buffer;
+    private final int mask;
+    private volatile boolean closed;
+
+    // the capacity is rounded up to a power of two, so the index of a slot
+    // is a mask instead of a division
+    public SpscRingBuffer(final int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30)
+            throw new IllegalArgumentException("Capacity passed to SpscRingBuffer needs to be between 1 and 2^30!");
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    // called by the producer, returns false if the buffer is full
+    public boolean offer(final T value) {
+        if (closed)
+            throw new IllegalStateException("SpscRingBuffer is already closed!");
+
+        final long current = (long) TAIL.getOpaque(this);
+        if (current - cachedHead == buffer.length) {
+            cachedHead = (long) HEAD.getAcquire(this);
+            if (current - cachedHead == buffer.length)
+                return false;
+        }
+
+        buffer[(int) current & mask] = value;
+        TAIL.setRelease(this, current + 1);
+        return true;
+    }
+
+    // called by the producer, waits until there is a free slot
+    public void put(final T value) {
+        int idle = 0;
+        while (!offer(value)) {
+            idle = idle(idle);
+        }
+    }
+
+    // called by the producer after the last element
+    public void close() {
+        closed = true;
+    }
+
+    // the Iter of the consumer, there should be only one consumer
+    public Iter<T> iter() {
+        return new ConsumerIter();
+    }
+
+    // the number of elements that the consumer can take without waiting
+    private int available() {
+        final long current = (long) HEAD.getOpaque(this);
+        if (current == cachedTail)
+            cachedTail = (long) TAIL.getAcquire(this);
+        return (int) (cachedTail - current);
+    }
+
+    // waits until there is an element or the producer has closed the buffer,
+    // returns 0 only at the end and INTERRUPTED if the consumer thread is
+    // interrupted before
+    private int await() {
+        int idle = 0;
+        while (true) {
+            final int available = available();
+            if (available > 0)
+                return available;
+            // the producer closes after the last put, so if the buffer is
+            // closed the tail read after it is final
+            if (closed)
+                return available();
+            if (Thread.currentThread().isInterrupted())
+                return INTERRUPTED;
+            idle = idle(idle);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T poll() {
+        final long current = (long) HEAD.getOpaque(this);
+        final int index = (int) current & mask;
+        final T value = (T) buffer[index];
+        buffer[index] = null;
+        HEAD.setRelease(this, current + 1);
+        return value;
+    }
+
+    // copies up to max available elements into the array starting at offset
+    private int drain(final Object[] into, final int offset, final int max, final int available) {
+        final long current = (long) HEAD.getOpaque(this);
+        final int count = Math.min(max, available);
+        final int from = (int) current & mask;
+        final int first = Math.min(count, buffer.length - from);
+        System.arraycopy(buffer, from, into, offset, first);
+        Arrays.fill(buffer, from, from + first, null);
+        System.arraycopy(buffer, 0, into, offset + first, count - first);
+        Arrays.fill(buffer, 0, count - first, null);
+        HEAD.setRelease(this, current + count);
+        return count;
+    }
+
+    private static int idle(final int idle) {
+        if (idle < 100) {
+            Thread.onSpinWait();
+        } else if (idle < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(50_000);
+        }
+        return idle + 1;
+    }
+
+    private final class ConsumerIter implements Iter<T> {
+        @Override
+        public Try<T> next() {
+            final int available = await();
+            if (available == INTERRUPTED)
+                return Try.failure(interrupted());
+            return available == 0 ? EndOfIter.failure() : Try.success(poll());
+        }
+
+        // returning false would look like the end to forEach and toList, the
+        // elements still coming from the producer would be silently dropped
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            final int available = await();
+            if (available == INTERRUPTED)
+                throw new IllegalStateException("Interrupted while waiting for the producer!", interrupted());
+            if (available == 0)
+                return false;
+            action.accept(poll());
+            return true;
+        }
+
+        @Override
+        public int nextBatch(final int max, final Object[] into) {
+            Iters.checkBatch(max, into);
+            int count = 0;
+            while (count < max) {
+                final int available = await();
+                if (available == INTERRUPTED)
+                    throw new IllegalStateException("Interrupted while waiting for the producer!", interrupted());
+                if (available == 0)
+                    break;
+                count += drain(into, count, max - count, available);
+            }
+            return count;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void forEach(final Consumer<? super T> action) {
+            final Object[] batch = new Object[Math.min(buffer.length, 256)];
+            int available;
+            while ((available = await()) > 0) {
+                final int count = drain(batch, 0, batch.length, available);
+                for (int i = 0; i < count; i++) {
+                    action.accept((T) batch[i]);
+                    batch[i] = null;
+                }
+            }
+            if (available == INTERRUPTED)
+                throw new IllegalStateException("Interrupted while waiting for the producer!", interrupted());
+        }
+
+        // the interrupt flag is left set, the caller of the Iter should see it
+        private InterruptedException interrupted() {
+            return new InterruptedException("Interrupted while waiting for the producer!");
+        }
+    }
+}
+
+abstract class SpscHeadPadding {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+// written only by the consumer
+abstract class SpscConsumerIndex extends SpscHeadPadding {
+    volatile long head;
+    long cachedTail;
+}
+
+abstract class SpscConsumerPadding extends SpscConsumerIndex {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+// written only by the producer
+abstract class SpscProducerIndex extends SpscConsumerPadding {
+    volatile long tail;
+    long cachedHead;
+}
+
+abstract class SpscProducerPadding extends SpscProducerIndex {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
@@ -0,0 +1,23 @@
+package io.github.ajoz.iter;
+
+/*
+ The metrics of a single instrumented point of a pipeline:
+
+ - element is called for every element that passed the point
+ - failure is called for every Failure other than the end of the Iter (a
+   NoSuchElementException) and for every exception thrown by the upstream
+ - sample is called for the sampled elements with the time and the bytes
+   allocated by the current thread while the element was pulled through all
+   the stages before the point, allocatedBytes is -1 if the JVM cannot
+   measure it
+
+ A Failure is visible only when the Iter is pulled with next, a tryAdvance
+ (used by forEach and the other terminal operations) just ends.
+ */
+public interface StageMetrics {
+    void element();
+
+    void failure(Throwable failure);
+
+    void sample(long nanos, long allocatedBytes);
+}
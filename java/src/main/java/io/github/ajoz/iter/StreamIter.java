@@ -0,0 +1,70 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/*
+ An Iter over a java.util.stream.Stream. The elements are pulled with the
+ tryAdvance of the Stream's Spliterator, so there is no Iterator and no
+ exception at the end of the Stream. The size and the characteristics of the
+ Stream are kept.
+
+ A Stream might hold resources (for example Files.lines), closing the Iter
+ closes the Stream.
+ */
+public final class StreamIter<T> implements Iter<T>, AutoCloseable {
+    private final Stream<T> stream;
+    private final Spliterator<T> spliterator;
+
+    private final Consumer<T> store = this::keep;
+    private T next;
+
+    public StreamIter(final Stream<T> stream) {
+        this.stream = stream;
+        this.spliterator = stream.spliterator();
+    }
+
+    @Override
+    public Try<T> next() {
+        if (!spliterator.tryAdvance(store))
+            return EndOfIter.failure();
+
+        final T value = next;
+        next = null;
+        return Try.success(value);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        return spliterator.tryAdvance(action);
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        return spliterator.getExactSizeIfKnown();
+    }
+
+    @Override
+    public int characteristics() {
+        return spliterator.characteristics();
+    }
+
+    // the Stream was already turned into a Spliterator, so it is returned
+    // as is, without wrapping it once more
+    @Override
+    public Spliterator<T> spliterator() {
+        return spliterator;
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private void keep(final T value) {
+        next = value;
+    }
+}
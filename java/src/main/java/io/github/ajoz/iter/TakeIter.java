@@ -2,12 +2,13 @@ package io.github.ajoz.iter;
 
 import io.github.ajoz.util.Try;
 
-import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
-public final class TakeIter<T> implements Iter<T> {
-    private final Iter<T> upstream;
+public final class TakeIter<T> implements Iter<T>, AutoCloseable {
     private final int amount;
 
+    private Iter<T> upstream;
     private int taken;
 
     public TakeIter(final Iter<T> upstream,
@@ -18,20 +19,101 @@ public final class TakeIter<T> implements Iter<T> {
 
     @Override
     public Try<T> next() {
+        // if already taken enough elements then there is no need to even
+        // ask the upstream Iter, it could be expensive (map, onEach) or
+        // generate the elements (Seed1Iter)
+        if (taken >= amount) {
+            release();
+            return EndOfIter.failure();
+        }
+
         // take an element from the upstream Iter
         final Try<T> next = upstream.next();
         // if the elemenent does not exist then just propagate the failure
         if (next.isFailure())
             return next;
 
-        // if already taken enough elements then just propagate the failure
-        if (taken >= amount) {
-            return Try.failure(new NoSuchElementException("Reached the Iter amount: " + amount));
-        }
-
         // increment the currently taken amount
         taken++;
+        // the last element was just taken, the upstream is not needed anymore
+        if (taken >= amount)
+            release();
         // return the upstream Iter item
         return next;
     }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (taken >= amount) {
+            release();
+            return false;
+        }
+
+        if (!upstream.tryAdvance(action))
+            return false;
+
+        taken++;
+        if (taken >= amount)
+            release();
+        return true;
+    }
+
+    // the batch is limited to what is left to take, this way the upstream can
+    // still copy it in bulk
+    @Override
+    public int nextBatch(final int max, final Object[] buffer) {
+        Iters.checkBatch(max, buffer);
+        if (taken >= amount) {
+            release();
+            return 0;
+        }
+
+        final int count = upstream.nextBatch(Math.min(max, amount - taken), buffer);
+        taken += count;
+        if (taken >= amount)
+            release();
+        return count;
+    }
+
+    // the size is known only if it is known upstream, otherwise it is not
+    // possible to tell if the upstream has enough elements
+    @Override
+    public long exactSizeIfKnown() {
+        final long upstreamSize = upstream.exactSizeIfKnown();
+        if (upstreamSize < 0)
+            return -1;
+
+        return Math.max(0, Math.min(upstreamSize, amount - taken));
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics();
+    }
+
+    // take after take is still a single take, just the smaller one
+    @Override
+    public Iter<T> take(final int amount) {
+        return new TakeIter<>(upstream, Math.min(this.amount - taken, amount));
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    /*
+     After the amount is reached the upstream will never be asked for another
+     element, so there is no reason to keep it. It is closed right away (see
+     Iters.close) instead of waiting until the whole pipeline is thrown away,
+     and the reference is dropped, so the upstream can be garbage collected.
+     */
+    private void release() {
+        if (upstream instanceof EmptyIter)
+            return;
+
+        final Iter<T> released = upstream;
+        upstream = new EmptyIter<>();
+        Iters.close(released);
+    }
 }
@@ -0,0 +1,123 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ Returns windows of the given size sliding over the upstream, each next
+ window starts step elements after the previous one:
+
+ - if step is smaller than size, the windows overlap and the elements that
+   are in both windows are copied from the previous one
+ - if step is bigger than size, the elements between windows are skipped
+
+ Only full windows are returned. The elements are pulled with nextBatch, so
+ sources like ArrayIter copy them in bulk.
+ */
+public final class WindowedIter<T> implements Iter<List<T>>, AutoCloseable {
+    private final Iter<T> upstream;
+    private final int size;
+    private final int step;
+
+    private Object[] previous;
+    private boolean done;
+
+    public WindowedIter(final Iter<T> upstream,
+                        final int size,
+                        final int step) {
+        this.upstream = upstream;
+        this.size = size;
+        this.step = step;
+    }
+
+    @Override
+    public Try<List<T>> next() {
+        final List<T> window = nextWindow();
+        return window == null ? EndOfIter.failure() : Try.success(window);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super List<T>> action) {
+        final List<T> window = nextWindow();
+        if (window == null)
+            return false;
+
+        action.accept(window);
+        return true;
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        if (done)
+            return 0;
+
+        final long upstreamSize = upstream.exactSizeIfKnown();
+        if (upstreamSize < 0)
+            return -1;
+
+        // the elements already pulled for the previous window are the start
+        // of the next one (or are skipped) so they need to be counted too
+        final long available = previous == null ? upstreamSize : upstreamSize + size - step;
+        return available < size ? 0 : (available - size) / step + 1;
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & (Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED);
+    }
+
+    @Override
+    public void close() {
+        Iters.close(upstream);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> nextWindow() {
+        if (done)
+            return null;
+
+        final Object[] window = new Object[size];
+        final int kept;
+        if (previous == null) {
+            kept = 0;
+        } else if (step < size) {
+            kept = size - step;
+            System.arraycopy(previous, step, window, 0, kept);
+        } else {
+            kept = 0;
+            if (!skip(step - size))
+                return end();
+        }
+
+        final int missing = size - kept;
+        final Object[] pulled = kept == 0 ? window : new Object[missing];
+        if (upstream.nextBatch(missing, pulled) < missing)
+            return end();
+        if (pulled != window)
+            System.arraycopy(pulled, 0, window, kept, missing);
+
+        // the next window copies from this array, so it cannot be changed
+        // through the returned list
+        previous = window;
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(window));
+    }
+
+    private boolean skip(final int amount) {
+        for (int i = 0; i < amount; i++) {
+            if (!upstream.tryAdvance(ignored -> {}))
+                return false;
+        }
+        return true;
+    }
+
+    private List<T> end() {
+        done = true;
+        previous = null;
+        return null;
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/*
+ Combines the elements of two Iters pulled in lockstep. Both sides are
+ pulled with tryAdvance into fields, so a pair costs no Try for either side.
+ The ZipIter ends with the shorter of the two, an element pulled from the
+ first one when the second one has already ended is dropped.
+ */
+public final class ZipIter<A, B, R> implements Iter<R> {
+    private final Iter<A> first;
+    private final Iter<B> second;
+    private final BiFunction<? super A, ? super B, ? extends R> zipper;
+
+    // the sinks are created only once, so pulling an element with tryAdvance
+    // does not allocate a new capturing lambda for every call
+    private final Consumer<A> firstSink = this::pushFirst;
+    private final Consumer<B> secondSink = this::pushSecond;
+    private A firstValue;
+    private B secondValue;
+
+    public ZipIter(final Iter<A> first,
+                   final Iter<B> second,
+                   final BiFunction<? super A, ? super B, ? extends R> zipper) {
+        this.first = first;
+        this.second = second;
+        this.zipper = zipper;
+    }
+
+    @Override
+    public Try<R> next() {
+        return first.next().flatMap(a -> second.next().map(b -> zipper.apply(a, b)));
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+        if (!first.tryAdvance(firstSink) || !second.tryAdvance(secondSink))
+            return false;
+
+        final R value = zipper.apply(firstValue, secondValue);
+        firstValue = null;
+        secondValue = null;
+        action.accept(value);
+        return true;
+    }
+
+    @Override
+    public long exactSizeIfKnown() {
+        final long firstSize = first.exactSizeIfKnown();
+        final long secondSize = second.exactSizeIfKnown();
+        return firstSize < 0 || secondSize < 0 ? -1 : Math.min(firstSize, secondSize);
+    }
+
+    @Override
+    public int characteristics() {
+        return exactSizeIfKnown() < 0
+                ? Spliterator.ORDERED
+                : Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    private void pushFirst(final A value) {
+        firstValue = value;
+    }
+
+    private void pushSecond(final B value) {
+        secondValue = value;
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.ajoz.sequence;
+
+import java.lang.ref.Cleaner;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+/*
+ Keeps up to `window` elements of the upstream Seq mapped ahead on the given
+ Executor. Every cell of the mapped Seq asks for the next one only when its
+ tail is evaluated, so the cell evaluation tops the window up with one more
+ element from upstream and waits for the oldest task. This keeps the order,
+ and nothing past the window is read from upstream or mapped.
+
+ The mapper is reachable only through the tail supplier of the last evaluated
+ cell. When the consumer stops early and drops the Seq, the mapper becomes
+ unreachable and the Cleaner cancels (and interrupts) the tasks still in the
+ window. The cleaning action is the Pending queue itself and it does not
+ refer back to the mapper, otherwise the mapper would never be cleaned.
+ */
+final class ParallelMapper<A, B> {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Iterator<A> upstream;
+    private final Function<A, B> func;
+    private final Executor executor;
+    private final int window;
+    private final Pending<B> pending;
+
+    private ParallelMapper(final Iterator<A> upstream,
+                           final Function<A, B> func,
+                           final Executor executor,
+                           final int window) {
+        this.upstream = upstream;
+        this.func = func;
+        this.executor = executor;
+        this.window = window;
+        this.pending = new Pending<>();
+        CLEANER.register(this, pending);
+    }
+
+    static <A, B> Seq<B> map(final Iterator<A> upstream,
+                             final Function<A, B> func,
+                             final Executor executor,
+                             final int window) {
+        return new ParallelMapper<>(upstream, func, executor, window).next();
+    }
+
+    private Seq<B> next() {
+        // the task cannot capture `this`, a running task would keep the mapper reachable
+        final Function<A, B> func = this.func;
+        while (pending.size() < window && upstream.hasNext()) {
+            final A value = upstream.next();
+            final FutureTask<B> task = new FutureTask<>(() -> func.apply(value));
+            pending.add(task);
+            executor.execute(task);
+        }
+
+        if (pending.size() == 0)
+            return new Seq.Nil<>();
+
+        return new Seq.Cons<>(pending.await(), this::next);
+    }
+
+    private static final class Pending<B> implements Runnable {
+        private final ArrayDeque<FutureTask<B>> tasks = new ArrayDeque<>();
+
+        synchronized int size() {
+            return tasks.size();
+        }
+
+        synchronized void add(final FutureTask<B> task) {
+            tasks.add(task);
+        }
+
+        // a task is removed only when it succeeded, asking again rethrows a failure
+        B await() {
+            final FutureTask<B> task;
+            synchronized (this) {
+                task = tasks.peek();
+            }
+
+            final B result;
+            try {
+                result = task.get();
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an element of Seq.mapPar!", exc);
+            } catch (final ExecutionException exc) {
+                final Throwable cause = exc.getCause();
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                if (cause instanceof Error)
+                    throw (Error) cause;
+                throw new IllegalStateException(cause);
+            }
+
+            synchronized (this) {
+                tasks.poll();
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized void run() {
+            for (final FutureTask<B> task : tasks)
+                task.cancel(true);
+            tasks.clear();
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package io.github.ajoz.sequence;
 
-import io.github.ajoz.lists.Lists;
-
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 public abstract class Seq<A> implements Iterable<A> {
@@ -21,25 +27,151 @@ public abstract class Seq<A> implements Iterable<A> {
     public abstract <B> Seq<B> flatMap(final Function<A, Seq<B>> func);
 
     public Seq<A> take(final int threshold) {
-        if (isEmpty()) {
+        if (threshold < 0)
+            throw new IllegalArgumentException("Take threshold needs to be a non-negative integer!");
+
+        if (isEmpty() || threshold == 0) {
             return new Seq.Nil<>();
         } else {
-            if (threshold == 0)
+            // the last element does not need to evaluate the tail at all
+            if (threshold == 1)
                 return new Seq.Cons<>(getHead(), Nil::new);
             else
                 return new Seq.Cons<>(getHead(), () -> getTail().take(threshold - 1));
         }
     }
 
-//    public Seq<A> drop(final int amount) {
-//        if (isEmpty()) {
-//            return new Seq.Nil<>();
-//        } else if (amount < 0) {
-//            throw new IllegalArgumentException("Drop amount needs to be a positive integer!");
-//        } else {
-//
-//        }
-//    }
+    /*
+     Maps the elements on the given Executor, up to `window` of them ahead of
+     the consumer, and keeps their order. The first element is mapped right
+     away, like with map. Elements past the window are neither read from this
+     Seq nor mapped, and when the mapped Seq is no longer reachable the tasks
+     that are still running get cancelled.
+
+     The cancellation depends on the GC: the tasks are cancelled by a Cleaner
+     once the GC finds the mapped Seq unreachable, which can be much later
+     than the consumer dropped it (or never, if there is no GC at all). A
+     consumer that stops early and needs the tasks stopped right away should
+     give mapPar an Executor of its own and shut it down with shutdownNow.
+     */
+    public <B> Seq<B> mapPar(final int window,
+                             final Executor executor,
+                             final Function<A, B> func) {
+        if (window <= 0)
+            throw new IllegalArgumentException("Window passed to Seq.mapPar needs to be positive!");
+        Objects.requireNonNull(executor, "Executor passed to Seq.mapPar cannot be null!");
+        Objects.requireNonNull(func, "Function passed to Seq.mapPar cannot be null!");
+
+        return ParallelMapper.map(new SeqIterator<>(this), func, executor, window);
+    }
+
+    public Seq<A> takeWhile(final Predicate<A> predicate) {
+        if (isEmpty() || !predicate.test(getHead()))
+            return new Seq.Nil<>();
+        else
+            return new Seq.Cons<>(getHead(), () -> getTail().takeWhile(predicate));
+    }
+
+    /*
+     drop, dropWhile and the terminal operations below walk the Seq in a loop
+     and keep only the current cell, so the part that was already consumed
+     can be collected while the rest is still being walked (the tails are
+     memoized, holding on to the head would keep all of them). The loop has to
+     be in the method itself: `this` is the head, a long loop gets compiled
+     and a compiled frame does not keep `this` once it is no longer used, but
+     a frame that called another method with the loop would keep it until
+     that method returns.
+     */
+
+    // skips the first elements right away, the returned Seq starts after them
+    public Seq<A> drop(final int amount) {
+        if (amount < 0)
+            throw new IllegalArgumentException("Drop amount needs to be a non-negative integer!");
+
+        Seq<A> current = this;
+        int remaining = amount;
+        while (remaining > 0 && !current.isEmpty()) {
+            if (current instanceof Chunk) {
+                // skip a whole chunk at once or start a view inside it
+                final Chunk<A> chunk = (Chunk<A>) current;
+                final int size = chunk.end - chunk.offset;
+                if (remaining < size)
+                    return new Chunk<>(chunk.elements, chunk.offset + remaining, chunk.end, chunk.rest);
+                remaining -= size;
+                current = chunk.rest.get();
+            } else {
+                remaining--;
+                current = current.getTail();
+            }
+        }
+        return current;
+    }
+
+    public Seq<A> dropWhile(final Predicate<A> predicate) {
+        Seq<A> current = this;
+        while (!current.isEmpty()) {
+            if (current instanceof Chunk) {
+                final Chunk<A> chunk = (Chunk<A>) current;
+                for (int i = chunk.offset; i < chunk.end; i++) {
+                    if (!predicate.test(chunk.get(i)))
+                        return new Chunk<>(chunk.elements, i, chunk.end, chunk.rest);
+                }
+                current = chunk.rest.get();
+            } else {
+                if (!predicate.test(current.getHead()))
+                    return current;
+                current = current.getTail();
+            }
+        }
+        return current;
+    }
+
+    public <B> B foldLeft(final B initial,
+                          final BiFunction<B, A, B> func) {
+        final Iterator<A> iterator = new SeqIterator<>(this);
+        B result = initial;
+        while (iterator.hasNext())
+            result = func.apply(result, iterator.next());
+        return result;
+    }
+
+    public Optional<A> reduce(final BinaryOperator<A> operator) {
+        final Iterator<A> iterator = new SeqIterator<>(this);
+        if (!iterator.hasNext())
+            return Optional.empty();
+
+        A result = iterator.next();
+        while (iterator.hasNext())
+            result = operator.apply(result, iterator.next());
+        return Optional.of(result);
+    }
+
+    public long count() {
+        final Iterator<A> iterator = new SeqIterator<>(this);
+        long count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    public Optional<A> find(final Predicate<A> predicate) {
+        final Iterator<A> iterator = new SeqIterator<>(this);
+        while (iterator.hasNext()) {
+            final A value = iterator.next();
+            if (predicate.test(value))
+                return Optional.of(value);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void forEach(final Consumer<? super A> action) {
+        final Iterator<A> iterator = new SeqIterator<>(this);
+        while (iterator.hasNext())
+            action.accept(iterator.next());
+    }
 
     public <B, C> Seq<C> zip(final Seq<B> other,
                              final BiFunction<A, B, C> zipper) {
@@ -66,36 +198,157 @@ public abstract class Seq<A> implements Iterable<A> {
         return new Seq.Cons<>(seed, () -> generate(generator.apply(seed), generator));
     }
 
+    /*
+     A RandomAccess list is read by index, anything else through a single
+     iterator. Each Cons evaluates its tail only once, so the iterator is
+     advanced exactly once per element, in order. Building the tail out of
+     nested subList views would keep a chain of n views alive and some
+     implementations walk that chain on every get.
+     */
     public static <A> Seq<A> of(final List<A> list) {
-        if (list.isEmpty()) {
+        if (list instanceof RandomAccess)
+            return ofIndexed(list, 0);
+        else
+            return ofIterator(list.iterator());
+    }
+
+    private static <A> Seq<A> ofIndexed(final List<A> list,
+                                        final int index) {
+        final int end = Math.min(list.size(), index + Chunk.SIZE);
+        if (index >= end)
             return new Seq.Nil<>();
-        } else {
-            final A head = Lists.head(list);
-            final List<A> tail = Lists.tail(list);
-            return new Seq.Cons<>(head, () -> Seq.of(tail));
-        }
+
+        final Object[] elements = new Object[end - index];
+        for (int i = index; i < end; i++)
+            elements[i - index] = list.get(i);
+        return new Seq.Chunk<>(elements, 0, elements.length, () -> ofIndexed(list, end));
+    }
+
+    private static <A> Seq<A> ofIterator(final Iterator<A> iterator) {
+        if (!iterator.hasNext())
+            return new Seq.Nil<>();
+
+        final Object[] elements = new Object[Chunk.SIZE];
+        int count = 0;
+        while (count < elements.length && iterator.hasNext())
+            elements[count++] = iterator.next();
+        return new Seq.Chunk<>(elements, 0, count, () -> ofIterator(iterator));
     }
 
+    /*
+     Nested concats are flattened: the tail of a concatenated Seq is a Concat,
+     which holds the rest of the current Seq and a queue of the suppliers that
+     come after it. Concatenating such a Seq again only adds a supplier to the
+     end of its queue, instead of wrapping it in one more concat. So a Seq
+     built by a long left fold of concats still takes a constant stack (and a
+     constant time) per element. A supplier that returns a concatenated Seq
+     puts its queue in front of the remaining one, so right nested concats do
+     not nest either.
+
+     The empty Seq is the only one that is not lazy: concat has to return
+     either a Nil or a non empty Seq, so if the Seq passed is empty the other
+     one is evaluated right away.
+     */
     public static <A> Seq<A> concat(final Seq<A> seq,
                                     final Supplier<Seq<A>> other) {
-        // if the sequence passed is empty then just return what is in the tail
-        if (seq.isEmpty()) {
+        Objects.requireNonNull(other, "Supplier passed to Seq.concat cannot be null!");
+        if (seq.isEmpty())
             return other.get();
-            // if the next element of the sequence is empty then we need to concat it
-        } else if (seq.getTail().isEmpty()) {
-            return new Seq.Cons<>(seq.getHead(), other);
-            // if there are more elements to go then just return value and defer
-            // next concat
-        } else {
-            final A head = seq.getHead();
-            final Seq<A> tail = seq.getTail();
-            return new Seq.Cons<>(head, () -> concat(tail, other));
+
+        final Concat<A> concat = Concat.of(seq);
+        if (concat != null)
+            return Concat.cell(seq, new Concat<>(concat.rest, concat.pending.append(other)));
+        return Concat.cell(seq, new Concat<>(Concat.rest(seq), Pending.<A>empty().append(other)));
+    }
+
+    /*
+     Inner sequences that are empty are skipped in a loop, a long run of them
+     would otherwise nest one concat inside another for each one. The loop is
+     static so that it does not keep the first Cons (and with it everything
+     that was already evaluated) reachable.
+     */
+    private static <A, B> Seq<B> flatMap(final Seq<A> seq,
+                                         final Function<A, Seq<B>> func) {
+        Seq<A> outer = seq;
+        while (!outer.isEmpty()) {
+            final Seq<B> inner = func.apply(outer.getHead());
+            if (!inner.isEmpty()) {
+                final Seq<A> rest = outer;
+                return concat(inner, () -> flatMap(rest.getTail(), func));
+            }
+            outer = outer.getTail();
         }
+        return new Seq.Nil<>();
     }
 
+    /*
+     The iterator is not an inner class of the Cons it starts with, it would
+     otherwise keep the head reachable for the whole traversal.
+     */
+    static final class SeqIterator<A> implements Iterator<A> {
+        private Seq<A> current;
+        private Chunk<A> chunk;
+        private int index;
+
+        SeqIterator(final Seq<A> start) {
+            this.current = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return chunk != null || !current.isEmpty();
+        }
+
+        @Override
+        public A next() {
+            if (chunk == null) {
+                if (current.isEmpty())
+                    throw new NoSuchElementException("");
+
+                if (!(current instanceof Chunk)) {
+                    final A value = current.getHead();
+                    current = current.getTail();
+                    return value;
+                }
+
+                // walk the chunk array directly instead of a view per element
+                chunk = (Chunk<A>) current;
+                index = chunk.offset;
+            }
+
+            final A value = chunk.get(index++);
+            if (index == chunk.end) {
+                current = chunk.rest.get();
+                chunk = null;
+            }
+            return value;
+        }
+    }
+
+    /*
+     The tail is evaluated only once, with the first getTail, and then the
+     same Seq is returned every time. Without it each getTail would compute
+     the whole suffix again, and operators like concat and zip call getTail
+     more than once for the same Cons.
+
+     The evaluation is the same double checked lock as in the Rest of a Chunk:
+     the first getTail calls the supplier under the lock of the Cons, other
+     threads wait on the lock until the tail is published in a volatile
+     field, so a Seq can be shared between threads and the supplier is still
+     called only once. After that the supplier is cleared, which lets the GC
+     collect everything it has captured, and every getTail is a single
+     volatile read.
+
+     If the supplier throws, the tail stays unevaluated and the next getTail
+     calls the supplier again. A supplier returning null, or asking for its
+     own tail, would leave the tail unevaluated forever, so they fail with a
+     NullPointerException and an IllegalStateException instead.
+     */
     public static final class Cons<A> extends Seq<A> {
         private final A head;
-        private final Supplier<Seq<A>> tail;
+        private Supplier<Seq<A>> tail;
+        private Thread evaluating;
+        private volatile Seq<A> evaluated;
 
         public Cons(final A head,
                     final Supplier<Seq<A>> tail) {
@@ -105,31 +358,111 @@ public abstract class Seq<A> implements Iterable<A> {
 
         @Override
         public Iterator<A> iterator() {
-            return new Iterator<A>() {
-                private Seq<A> current = Cons.this;
+            return new SeqIterator<>(this);
+        }
 
-                @Override
-                public boolean hasNext() {
-                    return !current.isEmpty();
-                }
+        @Override
+        public A getHead() {
+            return head;
+        }
 
-                @Override
-                public A next() {
-                    final A value = current.getHead();
-                    current = current.getTail();
-                    return value;
+        @Override
+        public Seq<A> getTail() {
+            final Seq<A> result = evaluated;
+            return result != null ? result : evaluate();
+        }
+
+        private synchronized Seq<A> evaluate() {
+            if (evaluated == null) {
+                // the lock is reentrant, the supplier asking for its own tail
+                // would call itself again
+                if (evaluating == Thread.currentThread())
+                    throw new IllegalStateException("The tail of a Seq cannot be evaluated from its own supplier!");
+
+                evaluating = Thread.currentThread();
+                try {
+                    evaluated = Objects.requireNonNull(tail.get(), "Supplier of a Seq tail cannot return null!");
+                } finally {
+                    evaluating = null;
                 }
-            };
+                tail = null;
+            }
+            return evaluated;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public <B> Seq<B> map(final Function<A, B> func) {
+            return new Cons<>(func.apply(head), () -> getTail().map(func));
+        }
+
+        @Override
+        public <B> Seq<B> flatMap(final Function<A, Seq<B>> func) {
+            return Seq.flatMap(this, func);
+        }
+    }
+
+    /*
+     A Cons holds one element and one supplier, so a lazy Seq costs a few
+     objects per element scattered across the heap. A Chunk holds up to SIZE
+     elements in an array and a single rest for all of them, and map, take and
+     zip work on the whole array at once. The Seq is then lazy per chunk, not
+     per element: the first getHead of a mapped chunk maps all of it.
+
+     getTail inside a chunk returns a view that shares the array and the rest
+     with its chunk, the rest is evaluated once for all of them. It is guarded
+     with a plain lock, as it is taken once per chunk and not per element.
+     */
+    public static final class Chunk<A> extends Seq<A> {
+        static final int SIZE = 32;
+
+        private final Object[] elements;
+        private final int offset;
+        private final int end;
+        private final Rest<A> rest;
+
+        Chunk(final Object[] elements,
+              final int offset,
+              final int end,
+              final Supplier<Seq<A>> rest) {
+            this(elements, offset, end, new Rest<>(rest));
+        }
+
+        private Chunk(final Object[] elements,
+                      final int offset,
+                      final int end,
+                      final Rest<A> rest) {
+            this.elements = elements;
+            this.offset = offset;
+            this.end = end;
+            this.rest = rest;
+        }
+
+        @SuppressWarnings("unchecked")
+        private A get(final int index) {
+            return (A) elements[index];
+        }
+
+        @Override
+        public Iterator<A> iterator() {
+            return new SeqIterator<>(this);
         }
 
         @Override
         public A getHead() {
-            return head;
+            return get(offset);
         }
 
         @Override
         public Seq<A> getTail() {
-            return tail.get();
+            if (offset + 1 < end)
+                return new Chunk<>(elements, offset + 1, end, rest);
+            else
+                return rest.get();
         }
 
         @Override
@@ -139,12 +472,233 @@ public abstract class Seq<A> implements Iterable<A> {
 
         @Override
         public <B> Seq<B> map(final Function<A, B> func) {
-            return new Cons<>(func.apply(head), () -> getTail().map(func));
+            final Object[] mapped = new Object[end - offset];
+            for (int i = offset; i < end; i++)
+                mapped[i - offset] = func.apply(get(i));
+            return new Chunk<>(mapped, 0, mapped.length, () -> rest.get().map(func));
         }
 
         @Override
         public <B> Seq<B> flatMap(final Function<A, Seq<B>> func) {
-            return concat(func.apply(head), () -> getTail().flatMap(func));
+            return Seq.flatMap(this, func);
+        }
+
+        @Override
+        public Seq<A> take(final int threshold) {
+            if (threshold < 0)
+                throw new IllegalArgumentException("Take threshold needs to be a non-negative integer!");
+
+            if (threshold == 0)
+                return new Seq.Nil<>();
+
+            final int remaining = end - offset;
+            if (threshold <= remaining)
+                return new Chunk<>(elements, offset, offset + threshold, Nil::new);
+            else
+                return new Chunk<>(elements, offset, end, () -> rest.get().take(threshold - remaining));
+        }
+
+        @Override
+        public Seq<A> takeWhile(final Predicate<A> predicate) {
+            for (int i = offset; i < end; i++) {
+                if (!predicate.test(get(i))) {
+                    if (i == offset)
+                        return new Seq.Nil<>();
+                    return new Chunk<>(elements, offset, i, Nil::new);
+                }
+            }
+            return new Chunk<>(elements, offset, end, () -> rest.get().takeWhile(predicate));
+        }
+
+        @Override
+        public <B, C> Seq<C> zip(final Seq<B> other,
+                                 final BiFunction<A, B, C> zipper) {
+            final Object[] zipped = new Object[end - offset];
+            Seq<B> current = other;
+            int count = 0;
+            while (true) {
+                if (current.isEmpty()) {
+                    if (count == 0)
+                        return new Seq.Nil<>();
+                    return new Chunk<>(zipped, 0, count, Nil::new);
+                }
+
+                zipped[count] = zipper.apply(get(offset + count), current.getHead());
+                count++;
+                if (count == zipped.length)
+                    break;
+                current = current.getTail();
+            }
+
+            // the tail of the other Seq is asked for only with the next chunk
+            final Seq<B> last = current;
+            return new Chunk<>(zipped, 0, count, () -> rest.get().zip(last.getTail(), zipper));
+        }
+    }
+
+    private static final class Concat<A> implements Supplier<Seq<A>> {
+        private final Supplier<Seq<A>> rest;
+        private final Pending<A> pending;
+
+        Concat(final Supplier<Seq<A>> rest,
+               final Pending<A> pending) {
+            this.rest = rest;
+            this.pending = pending;
+        }
+
+        // skips the empty Seqs in a loop, until there is an element or no
+        // more suppliers
+        @Override
+        public Seq<A> get() {
+            Seq<A> current = rest.get();
+            Pending<A> queue = pending;
+            while (current.isEmpty()) {
+                if (queue.isEmpty())
+                    return current;
+                queue = queue.normalized();
+                current = queue.front.supplier.get();
+                queue = new Pending<>(queue.front.next, queue.back);
+            }
+            if (queue.isEmpty())
+                return current;
+
+            final Concat<A> inner = of(current);
+            if (inner != null)
+                return cell(current, new Concat<>(inner.rest, inner.pending.then(queue)));
+            return cell(current, new Concat<>(rest(current), queue));
+        }
+
+        // the Concat in the tail of the Seq, if the tail is not evaluated yet;
+        // the supplier field is read without the lock of the Seq, at worst it
+        // is already cleared and the Seq is concatenated without flattening
+        static <A> Concat<A> of(final Seq<A> seq) {
+            final Supplier<Seq<A>> tail;
+            if (seq instanceof Chunk)
+                tail = ((Chunk<A>) seq).rest.supplier;
+            else if (seq instanceof Cons)
+                tail = ((Cons<A>) seq).tail;
+            else
+                tail = null;
+            return tail instanceof Concat ? (Concat<A>) tail : null;
+        }
+
+        static <A> Supplier<Seq<A>> rest(final Seq<A> seq) {
+            if (seq instanceof Chunk)
+                return ((Chunk<A>) seq).rest::get;
+            return seq::getTail;
+        }
+
+        // the same elements as the given Seq, with the given tail after them
+        static <A> Seq<A> cell(final Seq<A> seq, final Concat<A> tail) {
+            if (seq instanceof Chunk) {
+                final Chunk<A> chunk = (Chunk<A>) seq;
+                return new Chunk<>(chunk.elements, chunk.offset, chunk.end, tail);
+            }
+            return new Cons<>(seq.getHead(), tail);
+        }
+    }
+
+    /*
+     A persistent queue of suppliers: a Seq can be concatenated with more
+     than one other Seq, so adding a supplier cannot change the queue. The
+     suppliers are added to the back list (in the reversed order) and taken
+     from the front list, the back list is reversed into the front one when
+     the front one runs out.
+     */
+    private static final class Pending<A> {
+        private static final Pending<?> EMPTY = new Pending<>(null, null);
+
+        final Link<A> front;
+        final Link<A> back;
+
+        Pending(final Link<A> front,
+                final Link<A> back) {
+            this.front = front;
+            this.back = back;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <A> Pending<A> empty() {
+            return (Pending<A>) EMPTY;
+        }
+
+        boolean isEmpty() {
+            return front == null && back == null;
+        }
+
+        Pending<A> append(final Supplier<Seq<A>> supplier) {
+            return new Pending<>(front, new Link<>(supplier, back));
+        }
+
+        // a queue with the same suppliers and the first one in front
+        Pending<A> normalized() {
+            if (front != null || back == null)
+                return this;
+            Link<A> reversed = null;
+            for (Link<A> link = back; link != null; link = link.next)
+                reversed = new Link<>(link.supplier, reversed);
+            return new Pending<>(reversed, null);
+        }
+
+        // this queue followed by the other one: the suppliers of this one are
+        // put in front of the other one, starting with the last of them
+        Pending<A> then(final Pending<A> other) {
+            final Pending<A> first = normalized();
+            final Pending<A> second = other.normalized();
+            // the back list already has the suppliers in the reversed order
+            Link<A> front = second.front;
+            for (Link<A> link = first.back; link != null; link = link.next)
+                front = new Link<>(link.supplier, front);
+
+            final List<Supplier<Seq<A>>> suppliers = new ArrayList<>();
+            for (Link<A> link = first.front; link != null; link = link.next)
+                suppliers.add(link.supplier);
+            for (int i = suppliers.size() - 1; i >= 0; i--)
+                front = new Link<>(suppliers.get(i), front);
+            return new Pending<>(front, second.back);
+        }
+    }
+
+    private static final class Link<A> {
+        final Supplier<Seq<A>> supplier;
+        final Link<A> next;
+
+        Link(final Supplier<Seq<A>> supplier,
+             final Link<A> next) {
+            this.supplier = supplier;
+            this.next = next;
+        }
+    }
+
+    private static final class Rest<A> {
+        private Supplier<Seq<A>> supplier;
+        private Thread evaluating;
+        private volatile Seq<A> evaluated;
+
+        Rest(final Supplier<Seq<A>> supplier) {
+            this.supplier = supplier;
+        }
+
+        Seq<A> get() {
+            final Seq<A> result = evaluated;
+            return result != null ? result : evaluate();
+        }
+
+        private synchronized Seq<A> evaluate() {
+            if (evaluated == null) {
+                // same as in Cons, the lock would let the supplier call itself
+                if (evaluating == Thread.currentThread())
+                    throw new IllegalStateException("The tail of a Seq cannot be evaluated from its own supplier!");
+
+                evaluating = Thread.currentThread();
+                try {
+                    evaluated = Objects.requireNonNull(supplier.get(), "Supplier of a Seq tail cannot return null!");
+                } finally {
+                    evaluating = null;
+                }
+                supplier = null;
+            }
+            return evaluated;
         }
     }
 
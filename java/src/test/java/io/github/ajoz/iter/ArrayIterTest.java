@@ -4,8 +4,14 @@ import io.github.ajoz.util.Try;
 import org.junit.Assert;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class ArrayIterTest {
     @Test
     public void shouldNotReturnNextItemForEmptyArray() {
@@ -56,4 +62,19 @@ public class ArrayIterTest {
         iter.next()
                 .ifSuccess(ignored -> fail("Should not retrieve more then three elements"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldPushAllElementsWithTryAdvance() {
+        final Integer[] expected = {1, 2, 3};
+        final Iter<Integer> iter = new ArrayIter<>(expected);
+        final List<Integer> actual = new ArrayList<>();
+
+        assertTrue(iter.tryAdvance(actual::add));
+        assertTrue(iter.tryAdvance(actual::add));
+        assertTrue(iter.tryAdvance(actual::add));
+        // no more elements available
+        assertFalse(iter.tryAdvance(actual::add));
+
+        assertEquals(Arrays.asList(expected), actual);
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.ajoz.iter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import io.github.ajoz.util.Try;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ChunkedIterTest {
+    @Test
+    public void shouldReturnNoChunksForEmptyIter() {
+        assertTrue(Iter.empty().chunked(3).toList().isEmpty());
+    }
+
+    @Test
+    public void shouldReturnSmallerLastChunk() {
+        final List<List<Integer>> actual = Iter.from(1, 2, 3, 4, 5).chunked(2).toList();
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Collections.singletonList(5)), actual);
+    }
+
+    @Test
+    public void shouldChunkUnsizedIter() {
+        final List<List<Integer>> actual = Iter.from(0, x -> x + 1)
+                .filter(x -> x % 2 == 0)
+                .chunked(3)
+                .take(2)
+                .toList();
+
+        assertEquals(Arrays.asList(Arrays.asList(0, 2, 4), Arrays.asList(6, 8, 10)), actual);
+    }
+
+    @Test
+    public void shouldKnowTheNumberOfChunks() {
+        assertEquals(3, Iter.from(1, 2, 3, 4, 5).chunked(2).exactSizeIfKnown());
+    }
+
+    @Test
+    public void shouldReturnSlidingWindows() {
+        final List<List<Integer>> actual = Iter.from(1, 2, 3, 4, 5).windowed(3, 1).toList();
+
+        assertEquals(Arrays.asList(
+                Arrays.asList(1, 2, 3),
+                Arrays.asList(2, 3, 4),
+                Arrays.asList(3, 4, 5)), actual);
+    }
+
+    @Test
+    public void shouldSkipElementsBetweenWindows() {
+        final Iter<List<Integer>> iter = Iter.from(1, 2, 3, 4, 5, 6, 7, 8).windowed(2, 3);
+
+        assertEquals(3, iter.exactSizeIfKnown());
+        assertEquals(Arrays.asList(
+                Arrays.asList(1, 2),
+                Arrays.asList(4, 5),
+                Arrays.asList(7, 8)), iter.toList());
+    }
+
+    @Test
+    public void shouldDropIncompleteWindow() {
+        final Iter<List<Integer>> iter = Iter.from(1, 2, 3, 4, 5).windowed(2, 2);
+
+        assertEquals(2, iter.exactSizeIfKnown());
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4)), iter.toList());
+    }
+
+    @Test
+    public void shouldPullBatchFromArray() {
+        final Iter<Integer> iter = Iter.from(1, 2, 3, 4, 5);
+        final Integer[] buffer = new Integer[3];
+
+        assertEquals(3, iter.nextBatch(3, buffer));
+        assertArrayEquals(new Integer[]{1, 2, 3}, buffer);
+        assertEquals(2, iter.nextBatch(3, buffer));
+        assertEquals(Integer.valueOf(5), buffer[1]);
+        assertEquals(0, iter.nextBatch(3, buffer));
+    }
+
+    @Test
+    public void shouldLimitBatchToTakeAmount() {
+        final Iter<Integer> iter = Iter.fromIterable(Arrays.asList(1, 2, 3, 4, 5)).take(4);
+        final Integer[] buffer = new Integer[3];
+
+        assertEquals(3, iter.nextBatch(3, buffer));
+        assertEquals(1, iter.nextBatch(3, buffer));
+        assertEquals(Integer.valueOf(4), buffer[0]);
+        assertEquals(0, iter.nextBatch(3, buffer));
+    }
+
+    @Test
+    public void shouldChunkIterWithItsOwnBatch() {
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c")),
+                new StringsIter("a", "b", "c").chunked(2).toList());
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("b", "c")),
+                new StringsIter("a", "b", "c").windowed(2, 1).toList());
+        assertEquals(Arrays.asList(Arrays.asList("a", "b")),
+                new StringsIter("a", "b", "c").take(2).chunked(2).toList());
+    }
+
+    // an Iter with a nextBatch of its own, the stages pull its batches into
+    // arrays that are not String[]
+    private static final class StringsIter implements Iter<String> {
+        private final String[] values;
+        private int current;
+
+        StringsIter(final String... values) {
+            this.values = values;
+        }
+
+        @Override
+        public Try<String> next() {
+            return current < values.length ? Try.success(values[current++]) : EndOfIter.failure();
+        }
+
+        @Override
+        public int nextBatch(final int max, final Object[] buffer) {
+            final int count = Math.min(max, values.length - current);
+            System.arraycopy(values, current, buffer, 0, count);
+            current += count;
+            return count;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptBufferSmallerThanMax() {
+        Iter.from(1, 2, 3).nextBatch(3, new Integer[2]);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowChangingWindow() {
+        final Iter<List<Integer>> iter = Iter.from(1, 2, 3, 4).windowed(3, 1);
+
+        iter.next().get().set(1, 42);
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CombineIterTest {
+    @Test
+    public void shouldZipInLockstep() {
+        final List<String> actual = Iter.from(1, 2, 3)
+                .zip(Iter.from("a", "b", "c"), (number, letter) -> letter + number)
+                .toList();
+
+        assertEquals(Arrays.asList("a1", "b2", "c3"), actual);
+    }
+
+    @Test
+    public void shouldZipUntilShorterEnds() {
+        final Iter<Integer> zipped = Iter.from(0, x -> x + 1).zip(Iter.from(10, 20), Integer::sum);
+
+        assertEquals(Integer.valueOf(10), zipped.next().get());
+        assertEquals(Integer.valueOf(21), zipped.next().get());
+        assertTrue(zipped.next().isFailure());
+    }
+
+    @Test
+    public void shouldKnowSizeOfZip() {
+        assertEquals(2, Iter.from(1, 2, 3).zip(Iter.from(1, 2), Integer::sum).exactSizeIfKnown());
+        assertEquals(-1, Iter.from(1, 2, 3).zip(Iter.from(0, x -> x), Integer::sum).exactSizeIfKnown());
+    }
+
+    @Test
+    public void shouldConcatInOrder() {
+        final List<Integer> actual = Iter.concat(Iter.from(1, 2), Iter.<Integer>empty(), Iter.from(3)).toList();
+
+        assertEquals(Arrays.asList(1, 2, 3), actual);
+    }
+
+    @Test
+    public void shouldConcatWithNext() {
+        final Iter<Integer> iter = Iter.concat(Iter.<Integer>empty(), Iter.from(1), Iter.from(2));
+
+        assertEquals(Integer.valueOf(1), iter.next().get());
+        assertEquals(Integer.valueOf(2), iter.next().get());
+        assertTrue(iter.next().isFailure());
+    }
+
+    @Test
+    public void shouldReturnFailureOfLastConcatenatedIter() {
+        final IllegalStateException failure = new IllegalStateException("last");
+        final Iter<Integer> last = () -> Try.failure(failure);
+
+        final Iter<Integer> iter = Iter.concat(Iter.from(1), last);
+        iter.next();
+
+        iter.next().ifFailure(exc -> assertSame(failure, exc));
+    }
+
+    @Test
+    public void shouldNotPullLaterIterBeforeEarlierEnds() {
+        final int[] pulled = {0};
+        final Iter<Integer> later = Iter.from(10, 20).onEach(ignored -> pulled[0]++);
+
+        Iter.concat(Iter.from(1, 2), later).take(2).toList();
+
+        assertEquals(0, pulled[0]);
+    }
+
+    @Test
+    public void shouldKnowSizeOfConcat() {
+        assertEquals(5, Iter.concat(Iter.from(1, 2), Iter.from(3, 4, 5)).exactSizeIfKnown());
+        assertEquals(0, Iter.concat().exactSizeIfKnown());
+    }
+
+    @Test
+    public void shouldInterleaveRoundRobin() {
+        final List<Integer> actual = Iter.interleave(Iter.from(1, 4, 6), Iter.from(2), Iter.from(3, 5)).toList();
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), actual);
+    }
+
+    @Test
+    public void shouldMergeSortedIters() {
+        final List<Integer> actual = Iter.mergeSorted(Comparator.naturalOrder(),
+                Iter.from(1, 4, 7),
+                Iter.from(2, 5, 8, 9),
+                Iter.<Integer>empty(),
+                Iter.from(3, 6))
+                .toList();
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), actual);
+    }
+
+    @Test
+    public void shouldMergeManySortedIters() {
+        final Random random = new Random(3);
+        final List<Integer> expected = new ArrayList<>();
+        final List<Iter<Integer>> shards = new ArrayList<>();
+        for (int shard = 0; shard < 50; shard++) {
+            final List<Integer> values = new ArrayList<>();
+            for (int i = random.nextInt(100); i > 0; i--) {
+                values.add(random.nextInt(1000));
+            }
+            Collections.sort(values);
+            expected.addAll(values);
+            shards.add(Iter.fromIterable(values));
+        }
+        Collections.sort(expected);
+
+        final Iter<Integer>[] iters = shards.toArray(emptyArray());
+        assertEquals(expected, Iter.mergeSorted(Comparator.naturalOrder(), iters).toList());
+    }
+
+    @Test
+    public void shouldTakeEqualElementsFromEarlierIterFirst() {
+        final Comparator<String> byFirstLetter = Comparator.comparing(value -> value.charAt(0));
+
+        final List<String> actual = Iter.mergeSorted(byFirstLetter,
+                Iter.from("a1", "b1"),
+                Iter.from("a2", "b2"))
+                .toList();
+
+        assertEquals(Arrays.asList("a1", "a2", "b1", "b2"), actual);
+    }
+
+    @Test
+    public void shouldMergeLazily() {
+        final int[] pulled = {0};
+        final Iter<Integer> merged = Iter.mergeSorted(Comparator.naturalOrder(),
+                Iter.from(0, x -> x + 2).onEach(ignored -> pulled[0]++),
+                Iter.from(1, x -> x + 2).onEach(ignored -> pulled[0]++));
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), merged.take(5).toList());
+        // the first element of each Iter and a replacement for each one taken
+        assertEquals(7, pulled[0]);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldThrowIfConcatenatedIterIsNull() {
+        Iter.concat(Iter.from(1), null);
+    }
+
+    // a typed empty array for List.toArray, without a raw new Iter[0]
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    private static <T> T[] emptyArray(final T... empty) {
+        return empty;
+    }
+}
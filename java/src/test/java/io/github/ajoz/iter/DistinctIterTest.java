@@ -0,0 +1,107 @@
+package io.github.ajoz.iter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class DistinctIterTest {
+    @Test
+    public void shouldReturnFirstOccurrencesInOrder() {
+        final List<Integer> actual = Iter.from(3, 1, 3, 2, 1, 4).distinct().toList();
+
+        assertEquals(Arrays.asList(3, 1, 2, 4), actual);
+    }
+
+    @Test
+    public void shouldReturnSameItemsWithNext() {
+        final Iter<String> iter = Iter.from("a", "b", "a", "c").distinct();
+
+        assertEquals("a", iter.next().get());
+        assertEquals("b", iter.next().get());
+        assertEquals("c", iter.next().get());
+        assertTrue(iter.next().isFailure());
+    }
+
+    @Test
+    public void shouldBeLazy() {
+        final List<Integer> actual = Iter.from(0, x -> x + 1)
+                .map(x -> x / 2)
+                .distinct()
+                .take(5)
+                .toList();
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), actual);
+    }
+
+    @Test
+    public void shouldHandleNull() {
+        final List<String> actual = Iter.fromIterable(Arrays.asList(null, "a", null)).distinct().toList();
+
+        assertEquals(Arrays.asList(null, "a"), actual);
+    }
+
+    @Test
+    public void shouldUseGivenSeenSet() {
+        // only the first element with a given length gets through
+        final Set<Integer> lengths = new HashSet<>();
+        final List<String> actual = Iter.from("a", "bb", "c", "dd", "eee")
+                .distinct(value -> lengths.add(value.length()))
+                .toList();
+
+        assertEquals(Arrays.asList("a", "bb", "eee"), actual);
+    }
+
+    @Test
+    public void shouldNotReturnDuplicatesWithBloomFilter() {
+        final List<Integer> actual = Iter.from(0, x -> x + 1)
+                .take(20_000)
+                .map(x -> x % 1000)
+                .distinct(SeenSet.bloom(1000, 0.01))
+                .toList();
+
+        assertEquals(new HashSet<>(actual).size(), actual.size());
+    }
+
+    @Test
+    public void shouldKeepFalsePositivesNearRequestedRate() {
+        final List<Integer> actual = Iter.from(0, x -> x + 1)
+                .take(100_000)
+                .distinct(SeenSet.bloom(100_000, 0.01))
+                .toList();
+
+        // all the elements are distinct, everything that is missing was
+        // a false positive; the rate grows while the filter fills, so on
+        // average it is lower than the requested one
+        assertTrue("Dropped: " + (100_000 - actual.size()), actual.size() > 99_000);
+    }
+
+    @Test
+    public void shouldMarkAsDistinctAndUnsized() {
+        final int characteristics = Iter.from(1, 2, 3).distinct().characteristics();
+
+        assertTrue((characteristics & Spliterator.DISTINCT) != 0);
+        assertEquals(0, characteristics & Spliterator.SIZED);
+    }
+
+    @Test
+    public void shouldCloseUpstream() {
+        final boolean[] closed = {false};
+        final Iter<Integer> iter = new StreamIter<>(Stream.of(1, 1).onClose(() -> closed[0] = true)).distinct();
+
+        Iters.close(iter);
+
+        assertTrue(closed[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIfFalsePositiveRateIsNotBetweenZeroAndOne() {
+        SeenSet.bloom(10, 1.0);
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.ajoz.iter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.OptionalDouble;
+
+public class DoubleIterTest {
+    @Test
+    public void shouldNotPushAnyValueForEmptyIter() {
+        assertFalse(DoubleIter.empty().tryAdvance(ignored -> {}));
+    }
+
+    @Test
+    public void shouldGenerateValuesFromSeed() {
+        final double[] actual = DoubleIter.from(0.0, x -> x + 0.5)
+                .map(x -> x * 2)
+                .filter(x -> x % 3 == 0)
+                .take(4)
+                .toArray();
+
+        assertArrayEquals(new double[]{0, 3, 6, 9}, actual, 1e-12);
+    }
+
+    @Test
+    public void shouldSumValues() {
+        assertEquals(1.5, DoubleIter.from(0.25, 0.5, 0.75).sum(), 1e-12);
+        assertEquals(0.0, DoubleIter.empty().sum(), 0.0);
+    }
+
+    @Test
+    public void shouldFindMinAndMax() {
+        assertEquals(OptionalDouble.of(-3.5), DoubleIter.from(4, -3.5, 7.25, 0).min());
+        assertEquals(OptionalDouble.of(7.25), DoubleIter.from(4, -3.5, 7.25, 0).max());
+        assertFalse(DoubleIter.empty().min().isPresent());
+        assertFalse(DoubleIter.empty().max().isPresent());
+    }
+
+    @Test
+    public void shouldComputeSummaryStatistics() {
+        final DoubleSummaryStatistics statistics = DoubleIter.from(1, 2, 3, 4).summaryStatistics();
+
+        assertEquals(4, statistics.getCount());
+        assertEquals(10.0, statistics.getSum(), 1e-12);
+        assertEquals(2.5, statistics.getAverage(), 1e-12);
+    }
+
+    @Test
+    public void shouldCallOnEachForEveryValue() {
+        final int[] seen = {0};
+
+        DoubleIter.from(1, 2, 3)
+                .onEach(value -> seen[0]++)
+                .forEach(value -> {});
+
+        assertEquals(3, seen[0]);
+    }
+
+    @Test
+    public void shouldGrowArrayForManyValues() {
+        final double[] actual = DoubleIter.from(0.0, x -> x + 1).take(1000).toArray();
+
+        assertEquals(1000, actual.length);
+        assertEquals(999.0, actual[999], 0.0);
+    }
+
+    @Test
+    public void shouldConvertFromAndToObjects() {
+        final DoubleIter lengths = Iter.from("This", "is", "a", "test").mapToDouble(String::length);
+
+        assertEquals(Arrays.asList(4.0, 2.0, 1.0, 4.0), lengths.boxed().toList());
+        assertEquals(Arrays.asList("0.5", "1.5"), DoubleIter.from(0.5, 1.5).mapToObj(String::valueOf).toList());
+    }
+
+    @Test
+    public void shouldReturnFailureFromBoxedIterWhenNoMoreValues() {
+        final Iter<Double> iter = DoubleIter.from(4.2).boxed();
+
+        assertEquals(Double.valueOf(4.2), iter.next().get());
+        assertTrue(iter.next().isFailure());
+    }
+}
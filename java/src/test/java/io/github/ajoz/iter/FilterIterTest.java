@@ -2,8 +2,13 @@ package io.github.ajoz.iter;
 
 import org.junit.Assert;
 import static org.junit.Assert.fail;
+import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class FilterIterTest {
     @Test
     public void shouldReturnFailureForEmptyUpstream() {
@@ -31,4 +36,15 @@ public class FilterIterTest {
                 .ifFailure(exc -> fail("Should return a value"))
                 .ifSuccess(value -> Assert.assertTrue(value > 3));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldPushOnlyItemsThatSatisfyThePredicate() {
+        final List<Integer> actual = new ArrayList<>();
+
+        Iter.from(1, 2, 3, 4, 5, 6)
+                .filter(o -> o % 2 == 0)
+                .forEach(actual::add);
+
+        assertEquals(Arrays.asList(2, 4, 6), actual);
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.ajoz.iter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class FlatMapIterTest {
+    @Test
+    public void shouldReturnFailureForEmptyUpstream() {
+        Iter.<Integer>empty()
+                .flatMap(x -> Iter.from(x, x))
+                .next()
+                .ifSuccess(ignored -> fail("Should not return a value"));
+    }
+
+    @Test
+    public void shouldReturnAllElementsOfInnerIters() {
+        final Iter<Integer> iter = Iter.from(1, 2, 3).flatMap(x -> Iter.from(x, x * 10));
+
+        final List<Integer> actual = new ArrayList<>();
+        while (iter.next().ifSuccess(actual::add).isSuccess()) {
+            // the element was already added
+        }
+
+        assertEquals(Arrays.asList(1, 10, 2, 20, 3, 30), actual);
+    }
+
+    @Test
+    public void shouldSkipEmptyInnerIters() {
+        final List<Integer> actual = Iter.from(1, 2, 3, 4)
+                .flatMap(x -> x % 2 == 0 ? Iter.from(x) : Iter.<Integer>empty())
+                .toList();
+
+        assertEquals(Arrays.asList(2, 4), actual);
+    }
+
+    @Test
+    public void shouldNotOverflowStackForManyEmptyInnerIters() {
+        final List<Integer> actual = Iter.from(0, x -> x + 1)
+                .flatMap(x -> x < 1_000_000 ? Iter.<Integer>empty() : Iter.from(x))
+                .take(1)
+                .toList();
+
+        assertEquals(Collections.singletonList(1_000_000), actual);
+    }
+
+    @Test
+    public void shouldPullUpstreamOnlyWhenInnerIterIsDrained() {
+        final List<Integer> pulled = new ArrayList<>();
+        final Iter<Integer> iter = Iter.from(1, 2, 3)
+                .onEach(pulled::add)
+                .flatMap(x -> Iter.from(x, x));
+
+        iter.tryAdvance(ignored -> {});
+        iter.tryAdvance(ignored -> {});
+        assertEquals(Collections.singletonList(1), pulled);
+
+        iter.tryAdvance(ignored -> {});
+        assertEquals(Arrays.asList(1, 2), pulled);
+    }
+
+    @Test
+    public void shouldDrainRestWithForEach() {
+        final Iter<Integer> iter = Iter.from(1, 2).flatMap(x -> Iter.from(x, x * 10));
+        iter.tryAdvance(ignored -> {});
+
+        final List<Integer> actual = new ArrayList<>();
+        iter.forEach(actual::add);
+
+        assertEquals(Arrays.asList(10, 2, 20), actual);
+    }
+
+    @Test
+    public void shouldFlattenLists() {
+        final List<String> actual = Iter.from("a,b", "", "c")
+                .flatMapIterable(s -> s.isEmpty() ? Collections.<String>emptyList() : Arrays.asList(s.split(",")))
+                .toList();
+
+        assertEquals(Arrays.asList("a", "b", "c"), actual);
+    }
+}
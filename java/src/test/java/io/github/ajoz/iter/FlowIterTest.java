@@ -0,0 +1,267 @@
+package io.github.ajoz.iter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class FlowIterTest {
+    // pushes the requested elements right away, on the requesting thread,
+    // and remembers how many were requested
+    private static final class RangePublisher implements Flow.Publisher<Integer> {
+        private final int count;
+        private final AtomicLong requested = new AtomicLong();
+        private boolean cancelled;
+
+        RangePublisher(final int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private int next;
+
+                @Override
+                public void request(final long n) {
+                    requested.addAndGet(n);
+                    for (long i = 0; i < n && next < count && !cancelled; i++) {
+                        subscriber.onNext(next++);
+                    }
+                    if (next == count && !cancelled) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    // requests elements one by one and remembers all the signals
+    private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    @Test
+    public void shouldReturnAllPublishedItems() {
+        final RangePublisher publisher = new RangePublisher(100);
+
+        final List<Integer> actual = Iter.fromPublisher(publisher, 8).toList();
+
+        assertEquals(100, actual.size());
+        assertEquals(Integer.valueOf(99), actual.get(99));
+    }
+
+    @Test
+    public void shouldNotRequestMoreThanPrefetchAhead() {
+        final RangePublisher publisher = new RangePublisher(1000);
+        final Iter<Integer> iter = Iter.fromPublisher(publisher, 8);
+
+        iter.next();
+        assertEquals(8, publisher.requested.get());
+        for (int i = 0; i < 6; i++) {
+            iter.next();
+        }
+
+        // six taken of the eight, another six requested
+        assertEquals(14, publisher.requested.get());
+    }
+
+    @Test
+    public void shouldKeepMapFilterTakeSemantics() {
+        final RangePublisher publisher = new RangePublisher(1000);
+
+        final List<Integer> actual = Iter.fromPublisher(publisher, 4)
+                .filter(x -> x % 2 == 0)
+                .map(x -> x * 10)
+                .take(3)
+                .toList();
+
+        assertEquals(Arrays.asList(0, 20, 40), actual);
+    }
+
+    @Test
+    public void shouldCancelWhenTakeIsDone() {
+        final RangePublisher publisher = new RangePublisher(1000);
+
+        final List<Integer> actual = Iter.fromPublisher(publisher, 4).take(2).toList();
+
+        assertEquals(Arrays.asList(0, 1), actual);
+        assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    public void shouldReturnPublishersError() {
+        final IllegalStateException failure = new IllegalStateException("publisher");
+        final Flow.Publisher<Integer> publisher = subscriber -> {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    subscriber.onNext(1);
+                    subscriber.onError(failure);
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        };
+        final Iter<Integer> iter = Iter.fromPublisher(publisher, 4);
+
+        assertEquals(Integer.valueOf(1), iter.next().get());
+        iter.next().ifSuccess(ignored -> fail("Should not return a value!"))
+                .ifFailure(exc -> assertSame(failure, exc));
+    }
+
+    @Test
+    public void shouldReadFromAsynchronousPublisher() throws InterruptedException {
+        final SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>();
+        final Iter<Integer> iter = Iter.fromPublisher(publisher, 16);
+        // the first pull subscribes, so it has to happen before submitting
+        final List<Integer> actual = new ArrayList<>();
+        final Thread consumer = new Thread(() -> iter.forEach(actual::add));
+        consumer.start();
+        while (publisher.getNumberOfSubscribers() == 0) {
+            Thread.sleep(1);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            publisher.submit(i);
+        }
+        publisher.close();
+        consumer.join(5_000);
+
+        assertEquals(500, actual.size());
+        assertEquals(Integer.valueOf(499), actual.get(499));
+    }
+
+    @Test
+    public void shouldPublishOnlyRequestedItems() {
+        final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        final int[] pulled = {0};
+        Iter.from(0, x -> x + 1)
+                .onEach(ignored -> pulled[0]++)
+                .toPublisher(Runnable::run)
+                .subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+        assertEquals(Arrays.asList(0, 1, 2), subscriber.items);
+        assertEquals(3, pulled[0]);
+
+        subscriber.subscription.request(2);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), subscriber.items);
+    }
+
+    @Test
+    public void shouldCompleteAtEndOfIter() {
+        final RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        Iter.from("a", "b").toPublisher(Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(Arrays.asList("a", "b"), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void shouldNotRecurseWhenRequestingFromOnNext() {
+        final List<Integer> received = new ArrayList<>();
+        final int[] depth = {0, 0};
+        Iter.from(0, x -> x + 1).take(10_000).toPublisher(Runnable::run).subscribe(new RecordingSubscriber<Integer>() {
+            @Override
+            public void onNext(final Integer item) {
+                depth[0]++;
+                depth[1] = Math.max(depth[1], depth[0]);
+                received.add(item);
+                subscription.request(1);
+                depth[0]--;
+            }
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                super.onSubscribe(subscription);
+                subscription.request(1);
+            }
+        });
+
+        assertEquals(10_000, received.size());
+        assertEquals(1, depth[1]);
+    }
+
+    @Test
+    public void shouldSignalErrorForInvalidRequest() {
+        final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        Iter.from(1, 2).toPublisher(Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void shouldStopPublishingWhenCancelled() {
+        final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        Iter.from(1, 2, 3).toPublisher(Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+
+        assertEquals(Arrays.asList(1), subscriber.items);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void shouldRejectSecondSubscriber() {
+        final Flow.Publisher<Integer> publisher = Iter.from(1).toPublisher(Runnable::run);
+        publisher.subscribe(new RecordingSubscriber<>());
+        final RecordingSubscriber<Integer> second = new RecordingSubscriber<>();
+
+        publisher.subscribe(second);
+
+        assertTrue(second.error instanceof IllegalStateException);
+    }
+
+    @Test
+    public void shouldRoundTripThroughPublisher() {
+        final List<Integer> actual = Iter.fromPublisher(Iter.from(1, 2, 3, 4).toPublisher(), 2).toList();
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), actual);
+    }
+}
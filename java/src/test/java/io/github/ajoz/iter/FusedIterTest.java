@@ -0,0 +1,66 @@
+package io.github.ajoz.iter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FusedIterTest {
+    @Test
+    public void shouldFuseConsecutiveStagesIntoSingleIter() {
+        final Iter<Integer> iter = Iter.from(1, 2, 3)
+                .map(x -> x + 1)
+                .filter(x -> x > 2)
+                .map(x -> x * 10)
+                .onEach(ignored -> {});
+
+        assertTrue(iter instanceof FusedIter);
+    }
+
+    @Test
+    public void shouldKeepTheOrderOfOperations() {
+        final List<String> log = new ArrayList<>();
+
+        final List<Integer> actual = Iter.from(1, 2, 3, 4)
+                .onEach(x -> log.add("before:" + x))
+                .map(x -> x * 10)
+                .map(x -> x + 1)
+                .filter(x -> x > 20)
+                .filter(x -> x < 40)
+                .onEach(x -> log.add("after:" + x))
+                .onEach(x -> log.add("again:" + x))
+                .toList();
+
+        assertEquals(Arrays.asList(21, 31), actual);
+        assertEquals(Arrays.asList(
+                "before:1",
+                "before:2", "after:21", "again:21",
+                "before:3", "after:31", "again:31",
+                "before:4"), log);
+    }
+
+    @Test
+    public void shouldGiveTheSameResultsForNextAndTryAdvance() {
+        final Iter<Integer> pulled = Iter.from(1, 2, 3, 4, 5, 6).map(x -> x * x).filter(x -> x % 2 == 0);
+        final Iter<Integer> pushed = Iter.from(1, 2, 3, 4, 5, 6).map(x -> x * x).filter(x -> x % 2 == 0);
+
+        final List<Integer> actual = new ArrayList<>();
+        while (true) {
+            final boolean hasNext = pulled.next().ifSuccess(actual::add).isSuccess();
+            if (!hasNext)
+                break;
+        }
+
+        assertEquals(Arrays.asList(4, 16, 36), actual);
+        assertEquals(actual, pushed.toList());
+    }
+
+    @Test
+    public void shouldKeepTheSmallerAmountForTakeAfterTake() {
+        assertEquals(3, Iter.from(0, x -> x + 1).take(5).take(3).toList().size());
+        assertEquals(3, Iter.from(0, x -> x + 1).take(3).take(5).toList().size());
+    }
+}
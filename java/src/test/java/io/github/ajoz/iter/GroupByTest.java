@@ -0,0 +1,82 @@
+package io.github.ajoz.iter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class GroupByTest {
+    @Test
+    public void shouldGroupInOrderOfFirstKey() {
+        final Map<Integer, List<String>> actual = Iter.from("bb", "a", "cc", "ddd", "e").groupBy(String::length);
+
+        final Map<Integer, List<String>> expected = new LinkedHashMap<>();
+        expected.put(2, Arrays.asList("bb", "cc"));
+        expected.put(1, Arrays.asList("a", "e"));
+        expected.put(3, Arrays.asList("ddd"));
+        assertEquals(expected, actual);
+        assertEquals(Arrays.asList(2, 1, 3), Arrays.asList(actual.keySet().toArray()));
+    }
+
+    @Test
+    public void shouldGroupManyKeys() {
+        final Map<Integer, List<Integer>> actual = Iter.from(0, x -> x + 1)
+                .take(100_000)
+                .groupBy(x -> x % 10_000);
+
+        assertEquals(10_000, actual.size());
+        assertEquals(Arrays.asList(42, 10_042, 20_042, 30_042, 40_042, 50_042, 60_042, 70_042, 80_042, 90_042),
+                actual.get(42));
+    }
+
+    @Test
+    public void shouldGroupNullKey() {
+        final Map<String, List<String>> actual = Iter.from("a", "", "b").groupBy(x -> x.isEmpty() ? null : "letter");
+
+        assertEquals(Arrays.asList(""), actual.get(null));
+        assertEquals(Arrays.asList("a", "b"), actual.get("letter"));
+    }
+
+    @Test
+    public void shouldCountByKey() {
+        final Counts<Boolean> actual = Iter.from(0, x -> x + 1)
+                .take(10)
+                .countBy(x -> x % 3 == 0);
+
+        assertEquals(2, actual.size());
+        assertEquals(4, actual.count(true));
+        assertEquals(6, actual.count(false));
+        assertEquals(0, actual.count("missing"));
+    }
+
+    @Test
+    public void shouldCountManyKeys() {
+        final Counts<Integer> actual = Iter.from(0, x -> x + 1)
+                .take(100_000)
+                .countBy(x -> x % 5_000);
+
+        assertEquals(5_000, actual.size());
+        final long[] total = {0};
+        actual.forEach((key, count) -> {
+            assertEquals(20, count);
+            total[0] += count;
+        });
+        assertEquals(100_000, total[0]);
+    }
+
+    @Test
+    public void shouldConvertCountsToMapInOrderOfFirstKey() {
+        final Map<String, Long> actual = Iter.from("b", "a", "b", "c", "b").countBy(x -> x).toMap();
+
+        final Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("b", 3L);
+        expected.put("a", 1L);
+        expected.put("c", 1L);
+        assertEquals(expected, actual);
+        assertEquals(Arrays.asList("b", "a", "c"), Arrays.asList(actual.keySet().toArray()));
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InstrumentedIterTest {
+    @Test
+    public void shouldReturnSameIterForNoopMetrics() {
+        final Iter<Integer> iter = Iter.from(1, 2, 3);
+
+        assertSame(iter, iter.instrument("source", IterMetrics.noop()));
+    }
+
+    @Test
+    public void shouldPassElementsThrough() {
+        final SimpleIterMetrics metrics = IterMetrics.simple();
+
+        final List<Integer> actual = Iter.from(1, 2, 3).instrument("source", metrics).toList();
+
+        assertEquals(Arrays.asList(1, 2, 3), actual);
+    }
+
+    @Test
+    public void shouldCountElementsOfEachStage() {
+        final SimpleIterMetrics metrics = IterMetrics.simple();
+
+        Iter.from(0, x -> x + 1)
+                .take(100)
+                .instrument("source", metrics)
+                .filter(x -> x % 4 == 0)
+                .instrument("filter", metrics)
+                .map(x -> x * 2)
+                .instrument("map", metrics)
+                .forEach(ignored -> {
+                });
+
+        assertEquals(100, metrics.stage("source").elements());
+        assertEquals(25, metrics.stage("filter").elements());
+        assertEquals(25, metrics.stage("map").elements());
+        assertEquals(1.0, metrics.selectivity("source"), 0.0);
+        assertEquals(0.25, metrics.selectivity("filter"), 0.0);
+        assertEquals(1.0, metrics.selectivity("map"), 0.0);
+    }
+
+    @Test
+    public void shouldKeepStagesInOrderOfPipeline() {
+        final SimpleIterMetrics metrics = IterMetrics.simple();
+
+        Iter.from(1, 2).instrument("first", metrics).instrument("second", metrics).toList();
+
+        assertEquals("first", metrics.stages().get(0).name());
+        assertEquals("second", metrics.stages().get(1).name());
+    }
+
+    @Test
+    public void shouldSampleEveryGivenElement() {
+        final SimpleIterMetrics metrics = IterMetrics.simple(10);
+
+        Iter.from(0, x -> x + 1).take(100).instrument("source", metrics).toList();
+
+        assertEquals(10, metrics.stage("source").samples());
+        assertTrue(metrics.stage("source").averageNanos() >= 0);
+    }
+
+    @Test
+    public void shouldMeasureAllocationOfUpstream() {
+        final SimpleIterMetrics metrics = IterMetrics.simple(1);
+
+        Iter.from(0, x -> x + 1)
+                .take(100)
+                .map(x -> new long[128])
+                .instrument("allocating", metrics)
+                .toList();
+
+        final double bytes = metrics.stage("allocating").averageBytes();
+        // -1 if the JVM cannot measure it
+        assertTrue(bytes == -1 || bytes >= 128 * 8);
+    }
+
+    @Test
+    public void shouldNotMeasureDownstreamWork() {
+        final SimpleIterMetrics metrics = IterMetrics.simple(1);
+
+        Iter.from(1, 2, 3).instrument("source", metrics).forEach(ignored -> {
+            try {
+                Thread.sleep(20);
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(metrics.stage("source").averageNanos() < 20_000_000);
+    }
+
+    @Test
+    public void shouldCountFailuresButNotTheEnd() {
+        final SimpleIterMetrics metrics = IterMetrics.simple();
+        final Iter<Integer> failing = () -> Try.failure(new IllegalStateException("upstream"));
+
+        failing.instrument("failing", metrics).next();
+        Iter.from(1).instrument("ending", metrics).toList();
+        final Iter<Integer> ended = Iter.from(1).instrument("ended", metrics);
+        ended.next();
+        ended.next();
+
+        assertEquals(1, metrics.stage("failing").failures());
+        assertEquals(0, metrics.stage("ending").failures());
+        assertEquals(0, metrics.stage("ended").failures());
+    }
+
+    @Test
+    public void shouldCountExceptionsThrownUpstream() {
+        final SimpleIterMetrics metrics = IterMetrics.simple();
+
+        try {
+            Iter.from(1, 0).map(x -> 1 / x).instrument("divide", metrics).toList();
+            fail("Should throw!");
+        } catch (final ArithmeticException expected) {
+            // the exception goes on to the consumer
+        }
+
+        assertEquals(1, metrics.stage("divide").elements());
+        assertEquals(1, metrics.stage("divide").failures());
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.ajoz.iter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+
+public class IntIterTest {
+    @Test
+    public void shouldNotPushAnyValueForEmptyIter() {
+        assertFalse(IntIter.empty().tryAdvance(ignored -> {}));
+    }
+
+    @Test
+    public void shouldGenerateValuesFromSeed() {
+        final int[] actual = IntIter.from(0, x -> x + 1)
+                .map(x -> x * 2)
+                .filter(x -> x % 3 == 0)
+                .take(4)
+                .toArray();
+
+        assertArrayEquals(new int[]{0, 6, 12, 18}, actual);
+    }
+
+    @Test
+    public void shouldSumValues() {
+        assertEquals(15, IntIter.from(1, 2, 3, 4, 5).sum());
+        assertEquals(0, IntIter.empty().sum());
+    }
+
+    @Test
+    public void shouldFindMinAndMax() {
+        assertEquals(OptionalInt.of(-3), IntIter.from(4, -3, 7, 0).min());
+        assertEquals(OptionalInt.of(7), IntIter.from(4, -3, 7, 0).max());
+        assertFalse(IntIter.empty().min().isPresent());
+        assertFalse(IntIter.empty().max().isPresent());
+    }
+
+    @Test
+    public void shouldCallOnEachForEveryValue() {
+        final int[] seen = {0};
+
+        IntIter.from(1, 2, 3)
+                .onEach(value -> seen[0]++)
+                .forEach(value -> {});
+
+        assertEquals(3, seen[0]);
+    }
+
+    @Test
+    public void shouldGrowArrayForManyValues() {
+        final int[] actual = IntIter.from(0, x -> x + 1).take(1000).toArray();
+
+        assertEquals(1000, actual.length);
+        assertEquals(999, actual[999]);
+    }
+
+    @Test
+    public void shouldConvertFromAndToObjects() {
+        final IntIter lengths = Iter.from("This", "is", "a", "test").mapToInt(String::length);
+
+        assertEquals(Arrays.asList(4, 2, 1, 4), lengths.boxed().toList());
+    }
+
+    @Test
+    public void shouldReturnFailureFromBoxedIterWhenNoMoreValues() {
+        final Iter<Integer> iter = IntIter.from(42).boxed();
+
+        assertEquals(Integer.valueOf(42), iter.next().get());
+        assertTrue(iter.next().isFailure());
+    }
+
+    @Test
+    public void shouldSumLongAndDoubleValues() {
+        assertEquals(6_000_000_000L, LongIter.from(1_000_000_000L, x -> x + 1_000_000_000L).take(3).sum());
+        assertEquals(0.6, DoubleIter.from(0.1, 0.2, 0.3).sum(), 1e-12);
+        assertEquals(2.5, Iter.from("ab", "abc").mapToDouble(String::length).summaryStatistics().getAverage(), 1e-12);
+    }
+}
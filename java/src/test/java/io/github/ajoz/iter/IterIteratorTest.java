@@ -0,0 +1,49 @@
+package io.github.ajoz.iter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class IterIteratorTest {
+    @Test
+    public void shouldNotHaveNextForEmptyIter() {
+        final Iterator<String> iterator = Iter.<String>empty().iterator();
+
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void shouldThrowWhenNoMoreElements() {
+        final Iterator<String> iterator = Iter.<String>empty().iterator();
+
+        iterator.next();
+    }
+
+    @Test
+    public void shouldNotSkipElementsWhenHasNextIsCalledSeveralTimes() {
+        final Iterator<Integer> iterator = Iter.from(1, 2).iterator();
+
+        assertTrue(iterator.hasNext());
+        assertTrue(iterator.hasNext());
+        assertEquals(Integer.valueOf(1), iterator.next());
+        assertEquals(Integer.valueOf(2), iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void shouldCollectWholePipelineToList() {
+        final Iter<Integer> iter =
+                Iter.from("This", "is", "a", "very", "basic", "test")
+                        .onEach(ignored -> {})
+                        .map(String::length)
+                        .filter(len -> len > 2)
+                        .take(2);
+
+        assertEquals(Arrays.asList(4, 4), iter.toList());
+    }
+}
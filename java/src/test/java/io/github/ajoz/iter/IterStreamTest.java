@@ -0,0 +1,108 @@
+package io.github.ajoz.iter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class IterStreamTest {
+    @Test
+    public void shouldReportExactSizeOfArray() {
+        final Spliterator<Integer> spliterator = Iter.from(1, 2, 3).spliterator();
+
+        assertEquals(3, spliterator.getExactSizeIfKnown());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.IMMUTABLE));
+    }
+
+    @Test
+    public void shouldKeepSizeThroughMap() {
+        final Spliterator<String> spliterator = Iter.from(1, 2, 3)
+                .map(String::valueOf)
+                .onEach(ignored -> {})
+                .spliterator();
+
+        assertEquals(3, spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void shouldNotKnowSizeAfterFilter() {
+        final Spliterator<Integer> spliterator = Iter.from(1, 2, 3)
+                .filter(x -> x > 1)
+                .spliterator();
+
+        assertEquals(-1, spliterator.getExactSizeIfKnown());
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+    }
+
+    @Test
+    public void shouldNotKeepSortedOrDistinctThroughMap() {
+        final Iter<Integer> sorted = Iter.fromStream(Stream.of(3, 1, 2).sorted().distinct());
+        assertTrue(sorted.spliterator().hasCharacteristics(Spliterator.SORTED));
+
+        final Spliterator<Integer> mapped = Iter.fromStream(Stream.of(3, 1, 2).sorted().distinct())
+                .map(x -> -x)
+                .spliterator();
+        final Spliterator<Integer> fused = Iter.fromStream(Stream.of(3, 1, 2).sorted().distinct())
+                .filter(x -> x > 1)
+                .map(x -> x % 2)
+                .spliterator();
+
+        assertFalse(mapped.hasCharacteristics(Spliterator.SORTED));
+        assertFalse(mapped.hasCharacteristics(Spliterator.DISTINCT));
+        assertFalse(fused.hasCharacteristics(Spliterator.SORTED));
+        assertFalse(fused.hasCharacteristics(Spliterator.DISTINCT));
+    }
+
+    @Test
+    public void shouldKnowSizeOfTakeOverSizedUpstream() {
+        assertEquals(2, Iter.from(1, 2, 3).take(2).spliterator().getExactSizeIfKnown());
+        assertEquals(3, Iter.from(1, 2, 3).take(5).spliterator().getExactSizeIfKnown());
+        assertEquals(-1, Iter.from(0, x -> x + 1).take(5).spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    public void shouldStreamAllElements() {
+        final String actual = Iter.from("This", "is", "a", "test")
+                .map(String::toUpperCase)
+                .stream()
+                .collect(Collectors.joining(" "));
+
+        assertEquals("THIS IS A TEST", actual);
+    }
+
+    @Test
+    public void shouldStreamInfiniteIterLazily() {
+        final long actual = Iter.from(0, x -> x + 1)
+                .stream()
+                .limit(10)
+                .count();
+
+        assertEquals(10, actual);
+    }
+
+    @Test
+    public void shouldCreateIterFromStream() {
+        final Iter<Integer> iter = Iter.fromStream(Stream.of(1, 2, 3, 4));
+
+        assertEquals(4, iter.exactSizeIfKnown());
+        assertEquals(Integer.valueOf(1), iter.next().get());
+        assertEquals(Arrays.asList(2, 3, 4), iter.toList());
+        assertTrue(iter.next().isFailure());
+    }
+
+    @Test
+    public void shouldCloseTheStream() {
+        final boolean[] closed = {false};
+        final StreamIter<Integer> iter = new StreamIter<>(Stream.of(1).onClose(() -> closed[0] = true));
+
+        iter.close();
+
+        assertTrue(closed[0]);
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+
+public class IteratorIterTest {
+    @Test
+    public void shouldReturnFailureForEmptyIterator() {
+        final Iter<String> iter = new IteratorIter<>(Collections.<String>emptyList().iterator());
+
+        final Try<String> next = iter.next();
+
+        assertTrue(next.isFailure());
+        next.ifFailure(exc -> assertTrue(exc instanceof NoSuchElementException));
+    }
+
+    @Test
+    public void shouldNotFillStackTraceAtTheEnd() {
+        new IteratorIter<>(Collections.emptyIterator())
+                .next()
+                .ifFailure(exc -> assertEquals(0, exc.getStackTrace().length));
+    }
+
+    @Test
+    public void shouldReturnAllElementsOfIterator() {
+        final Iter<Integer> iter = new IteratorIter<>(Arrays.asList(1, 2).iterator());
+
+        iter.next()
+                .ifFailure(exc -> fail("Should return first element"))
+                .ifSuccess(value -> assertEquals(Integer.valueOf(1), value));
+        iter.next()
+                .ifFailure(exc -> fail("Should return second element"))
+                .ifSuccess(value -> assertEquals(Integer.valueOf(2), value));
+        iter.next()
+                .ifSuccess(ignored -> fail("Should not return more elements"));
+    }
+}
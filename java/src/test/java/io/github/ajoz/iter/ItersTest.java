@@ -0,0 +1,64 @@
+package io.github.ajoz.iter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ItersTest {
+    @Test
+    public void shouldCollectToArrayList() {
+        final List<Integer> actual = Iter.from(1, 2, 3).toList();
+
+        assertTrue(actual instanceof ArrayList);
+        assertEquals(Arrays.asList(1, 2, 3), actual);
+    }
+
+    @Test
+    public void shouldCollectUnsizedIterToArray() {
+        final Integer[] actual = Iter.from(0, x -> x + 1)
+                .filter(x -> x % 2 == 0)
+                .take(20)
+                .toArray(Integer[]::new);
+
+        assertEquals(20, actual.length);
+        assertEquals(Integer.valueOf(38), actual[19]);
+    }
+
+    @Test
+    public void shouldCollectSizedIterToArray() {
+        final String[] actual = Iter.from(1, 2, 3).map(String::valueOf).toArray(String[]::new);
+
+        assertArrayEquals(new String[]{"1", "2", "3"}, actual);
+    }
+
+    @Test
+    public void shouldCollectEmptyIterToArray() {
+        assertEquals(0, Iter.<String>empty().toArray(String[]::new).length);
+    }
+
+    @Test
+    public void shouldCollectToImmutableList() {
+        final List<Integer> actual = Iter.from(0, x -> x + 1).take(100).toImmutableList();
+
+        assertEquals(100, actual.size());
+        assertEquals(Integer.valueOf(99), actual.get(99));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotModifyImmutableList() {
+        Iter.from(1, 2, 3).toImmutableList().add(4);
+    }
+
+    @Test
+    public void shouldCollectWithCollector() {
+        final String actual = Iter.from("This", "is", "a", "test").collect(Collectors.joining(" "));
+
+        assertEquals("This is a test", actual);
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.ajoz.iter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LongSummaryStatistics;
+import java.util.OptionalLong;
+
+public class LongIterTest {
+    @Test
+    public void shouldNotPushAnyValueForEmptyIter() {
+        assertFalse(LongIter.empty().tryAdvance(ignored -> {}));
+    }
+
+    @Test
+    public void shouldGenerateValuesFromSeed() {
+        final long[] actual = LongIter.from(0L, x -> x + 1)
+                .map(x -> x * 2)
+                .filter(x -> x % 3 == 0)
+                .take(4)
+                .toArray();
+
+        assertArrayEquals(new long[]{0, 6, 12, 18}, actual);
+    }
+
+    @Test
+    public void shouldKeepValuesBeyondIntRange() {
+        final long[] actual = LongIter.from(Integer.MAX_VALUE, Long.MAX_VALUE)
+                .map(x -> x - 1)
+                .toArray();
+
+        assertArrayEquals(new long[]{Integer.MAX_VALUE - 1L, Long.MAX_VALUE - 1}, actual);
+    }
+
+    @Test
+    public void shouldSumValues() {
+        assertEquals(15L, LongIter.from(1, 2, 3, 4, 5).sum());
+        assertEquals(0L, LongIter.empty().sum());
+    }
+
+    @Test
+    public void shouldFindMinAndMax() {
+        assertEquals(OptionalLong.of(-3), LongIter.from(4, -3, 7, 0).min());
+        assertEquals(OptionalLong.of(7), LongIter.from(4, -3, 7, 0).max());
+        assertFalse(LongIter.empty().min().isPresent());
+        assertFalse(LongIter.empty().max().isPresent());
+    }
+
+    @Test
+    public void shouldComputeSummaryStatistics() {
+        final LongSummaryStatistics statistics = LongIter.from(1, 2, 3, 4).summaryStatistics();
+
+        assertEquals(4, statistics.getCount());
+        assertEquals(10L, statistics.getSum());
+        assertEquals(2.5, statistics.getAverage(), 1e-12);
+    }
+
+    @Test
+    public void shouldCallOnEachForEveryValue() {
+        final int[] seen = {0};
+
+        LongIter.from(1, 2, 3)
+                .onEach(value -> seen[0]++)
+                .forEach(value -> {});
+
+        assertEquals(3, seen[0]);
+    }
+
+    @Test
+    public void shouldGrowArrayForManyValues() {
+        final long[] actual = LongIter.from(0L, x -> x + 1).take(1000).toArray();
+
+        assertEquals(1000, actual.length);
+        assertEquals(999L, actual[999]);
+    }
+
+    @Test
+    public void shouldConvertFromAndToObjects() {
+        final LongIter lengths = Iter.from("This", "is", "a", "test").mapToLong(String::length);
+
+        assertEquals(Arrays.asList(4L, 2L, 1L, 4L), lengths.boxed().toList());
+        assertEquals(Arrays.asList("1", "2"), LongIter.from(1, 2).mapToObj(String::valueOf).toList());
+    }
+
+    @Test
+    public void shouldReturnFailureFromBoxedIterWhenNoMoreValues() {
+        final Iter<Long> iter = LongIter.from(42L).boxed();
+
+        assertEquals(Long.valueOf(42), iter.next().get());
+        assertTrue(iter.next().isFailure());
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.ajoz.iter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MappedLineIterTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(final String contents) throws IOException {
+        final Path path = folder.newFile().toPath();
+        Files.write(path, contents.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    private List<String> lines(final Path path, final int windowSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             MappedLineIter iter = new MappedLineIter(channel, false, StandardCharsets.UTF_8, windowSize)) {
+            return iter.map(CharSequence::toString).toList();
+        }
+    }
+
+    @Test
+    public void shouldReturnLines() throws IOException {
+        final Path path = write("first\nsecond\n\nfourth");
+
+        try (MappedLineIter iter = Iter.fromLines(path)) {
+            assertEquals(Arrays.asList("first", "second", "", "fourth"), iter.map(CharSequence::toString).toList());
+        }
+    }
+
+    @Test
+    public void shouldReturnNoLinesForEmptyFile() throws IOException {
+        assertEquals(Collections.emptyList(), lines(write(""), 16));
+    }
+
+    @Test
+    public void shouldDropCarriageReturn() throws IOException {
+        assertEquals(Arrays.asList("a", "b"), lines(write("a\r\nb\r\n"), 16));
+    }
+
+    @Test
+    public void shouldReturnSameLinesAsFilesReadAllLines() throws IOException {
+        final StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            contents.append("line number ").append(i).append('\n');
+        }
+        final Path path = write(contents.toString());
+
+        // windows of 7 bytes split almost every line
+        assertEquals(Files.readAllLines(path), lines(path, 7));
+    }
+
+    @Test
+    public void shouldGrowWindowForLongLines() throws IOException {
+        final char[] longLine = new char[100];
+        Arrays.fill(longLine, 'x');
+        final Path path = write("a\n" + new String(longLine) + "\nb");
+
+        assertEquals(Arrays.asList("a", new String(longLine), "b"), lines(path, 4));
+    }
+
+    @Test
+    public void shouldDecodeCharsOfLine() throws IOException {
+        final Path path = write("zażółć\ngęś\n");
+
+        try (MappedLineIter iter = Iter.fromLines(path)) {
+            final CharSequence line = iter.next().get();
+            assertEquals(6, line.length());
+            assertEquals('ż', line.charAt(2));
+            assertEquals("żó", line.subSequence(2, 4).toString());
+            assertEquals("zażółć", line.toString());
+
+            final CharSequence next = iter.next().get();
+            assertEquals(3, next.length());
+            assertEquals("gęś", next.toString());
+        }
+    }
+
+    @Test
+    public void shouldDecodeWithCharsetOfFile() throws IOException {
+        final Path path = folder.newFile().toPath();
+        Files.write(path, "café\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        try (MappedLineIter iter = Iter.fromLines(path, StandardCharsets.ISO_8859_1)) {
+            final CharSequence line = iter.next().get();
+            assertEquals(4, line.length());
+            assertEquals('é', line.charAt(3));
+        }
+    }
+
+    @Test
+    public void shouldReuseLineBetweenPulls() throws IOException {
+        final Path path = write("error: a\ninfo: b\nerror: c\n");
+        final List<CharSequence> seen = new ArrayList<>();
+
+        try (MappedLineIter iter = Iter.fromLines(path)) {
+            final List<String> errors = iter
+                    .onEach(seen::add)
+                    .filter(line -> line.length() > 0 && line.charAt(0) == 'e')
+                    .map(CharSequence::toString)
+                    .toList();
+
+            assertEquals(Arrays.asList("error: a", "error: c"), errors);
+        }
+        assertSame(seen.get(0), seen.get(2));
+    }
+
+    @Test
+    public void shouldReturnSubSequenceView() throws IOException {
+        try (MappedLineIter iter = Iter.fromLines(write("key=value\n"))) {
+            final CharSequence line = iter.next().get();
+
+            assertEquals("value", line.subSequence(4, 9).toString());
+        }
+    }
+
+    @Test
+    public void shouldNotReturnLinesAfterClose() throws IOException {
+        final MappedLineIter iter = Iter.fromLines(write("a\nb\n"));
+        iter.next();
+        iter.close();
+
+        iter.next().ifSuccess(ignored -> fail("Should not return a value after close!"));
+    }
+
+    @Test
+    public void shouldLeaveCallersChannelOpen() throws IOException {
+        final Path path = write("a\n");
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Iter.fromLines(channel, StandardCharsets.UTF_8).close();
+
+            assertTrue(channel.isOpen());
+        }
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void shouldThrowReadFailureFromTerminalOperation() throws IOException {
+        final FileChannel channel = FileChannel.open(write("first\nsecond"), StandardOpenOption.READ);
+        final MappedLineIter iter = Iter.fromLines(channel, StandardCharsets.UTF_8);
+        channel.close();
+
+        iter.map(CharSequence::toString).toList();
+    }
+
+    @Test
+    public void shouldRejectCharsetsThatAreNotAsciiCompatible() throws IOException {
+        final Path path = write("a\n");
+
+        for (final Charset charset : Arrays.asList(StandardCharsets.UTF_16, StandardCharsets.UTF_16LE, Charset.forName("UTF-32"))) {
+            try {
+                Iter.fromLines(path, charset).close();
+                fail("Should not accept " + charset + "!");
+            } catch (final IllegalArgumentException expected) {
+                // the lines would be split in the middle of a char
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Iter.fromLines(channel, StandardCharsets.UTF_16BE);
+            fail("Should not accept UTF-16BE!");
+        } catch (final IllegalArgumentException expected) {
+            // the same for a channel of the caller
+        }
+    }
+}
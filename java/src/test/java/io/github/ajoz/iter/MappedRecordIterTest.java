@@ -0,0 +1,116 @@
+package io.github.ajoz.iter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MappedRecordIterTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(final int records) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(records * 8);
+        for (int i = 0; i < records; i++) {
+            buffer.putInt(i).putInt(-i);
+        }
+        final Path path = folder.newFile().toPath();
+        Files.write(path, buffer.array());
+        return path;
+    }
+
+    @Test
+    public void shouldReturnRecords() throws IOException {
+        try (MappedRecordIter iter = Iter.fromRecords(write(3), 8)) {
+            final List<Integer> actual = iter.map(ByteBuffer::getInt).toList();
+
+            assertEquals(Arrays.asList(0, 1, 2), actual);
+        }
+    }
+
+    @Test
+    public void shouldReturnWholeRecordBetweenPositionAndLimit() throws IOException {
+        try (MappedRecordIter iter = Iter.fromRecords(write(2), 8)) {
+            iter.next();
+            final ByteBuffer record = iter.next().get();
+
+            assertEquals(8, record.remaining());
+            assertEquals(1, record.getInt());
+            assertEquals(-1, record.getInt());
+            assertTrue(record.isReadOnly());
+        }
+    }
+
+    @Test
+    public void shouldCrossWindows() throws IOException {
+        final Path path = write(100);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             MappedRecordIter iter = new MappedRecordIter(channel, false, 8, 20)) {
+            final List<ByteBuffer> records = iter.toList();
+            assertEquals(100, records.size());
+            // records are reused, so only the count can be checked here
+            assertSame(records.get(0), records.get(1));
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             MappedRecordIter iter = new MappedRecordIter(channel, false, 8, 20)) {
+            int expected = 0;
+            while (true) {
+                final ByteBuffer record = iter.next().getOrElse((ByteBuffer) null);
+                if (record == null)
+                    break;
+                assertEquals(expected, record.getInt());
+                assertEquals(-expected, record.getInt());
+                expected++;
+            }
+            assertEquals(100, expected);
+        }
+    }
+
+    @Test
+    public void shouldReturnShorterLastRecord() throws IOException {
+        final Path path = folder.newFile().toPath();
+        Files.write(path, new byte[]{1, 2, 3, 4, 5});
+
+        try (MappedRecordIter iter = Iter.fromRecords(path, 2)) {
+            final List<Integer> sizes = iter.map(ByteBuffer::remaining).toList();
+
+            assertEquals(Arrays.asList(2, 2, 1), sizes);
+        }
+    }
+
+    @Test
+    public void shouldKnowNumberOfRemainingRecords() throws IOException {
+        try (MappedRecordIter iter = Iter.fromRecords(write(5), 8)) {
+            assertEquals(5, iter.exactSizeIfKnown());
+            iter.next();
+            assertEquals(4, iter.exactSizeIfKnown());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIfRecordSizeIsNotPositive() throws IOException {
+        Iter.fromRecords(write(1), 0);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void shouldThrowReadFailureFromTerminalOperation() throws IOException {
+        final FileChannel channel = FileChannel.open(write(3), StandardOpenOption.READ);
+        final MappedRecordIter iter = Iter.fromRecords(channel, 8);
+        channel.close();
+
+        iter.toList();
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.ajoz.iter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelIterTest {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldReturnEmptyListForEmptyIter() {
+        assertTrue(Iter.empty().parallel(pool).map(Object::toString).toList().isEmpty());
+    }
+
+    @Test
+    public void shouldKeepTheOrderOfTheArray() {
+        final Integer[] source = new Integer[100_000];
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < source.length; i++) {
+            source[i] = i;
+            if (i % 3 == 0)
+                expected.add(i * 2);
+        }
+
+        final List<Integer> actual = Iter.from(source)
+                .parallel(pool)
+                .filter(x -> x % 3 == 0)
+                .map(x -> x * 2)
+                .toList();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldKeepTheOrderOfTheRandomAccessList() {
+        final List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            source.add(i);
+        }
+
+        final List<String> actual = Iter.fromIterable(source)
+                .parallel(pool)
+                .map(String::valueOf)
+                .toList();
+
+        assertEquals(source.size(), actual.size());
+        for (int i = 0; i < source.size(); i++) {
+            assertEquals(String.valueOf(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void shouldRunStagesFusedBeforeParallel() {
+        final List<Integer> actual = Iter.from(1, 2, 3, 4, 5)
+                .map(x -> x * 10)
+                .filter(x -> x > 10)
+                .parallel(pool)
+                .map(x -> x + 1)
+                .toList();
+
+        assertEquals(Arrays.asList(21, 31, 41, 51), actual);
+    }
+
+    @Test
+    public void shouldRunStagesAddedAfterParallelOnManyThreads() {
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final CountDownLatch together = new CountDownLatch(2);
+        final Integer[] source = new Integer[1_000];
+        Arrays.fill(source, 1);
+
+        final List<Integer> actual = Iter.from(source)
+                .parallel(pool)
+                .map(x -> {
+                    threads.add(Thread.currentThread());
+                    together.countDown();
+                    try {
+                        together.await(1, TimeUnit.SECONDS);
+                    } catch (final InterruptedException exc) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return x;
+                })
+                .toList();
+
+        assertEquals(source.length, actual.size());
+        assertTrue(threads.size() > 1);
+    }
+
+    @Test
+    public void shouldRunStagesAddedBeforeParallelOneAtATime() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final Integer[] source = new Integer[10_000];
+        Arrays.fill(source, 1);
+
+        final List<Integer> actual = Iter.from(source)
+                .onEach(x -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    running.decrementAndGet();
+                })
+                .parallel(pool)
+                .map(x -> x + 1)
+                .toList();
+
+        assertEquals(source.length, actual.size());
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    public void shouldWorkForSourcesThatDoNotKnowTheirSize() {
+        final List<Integer> actual = Iter.from(0, x -> x + 1)
+                .take(5_000)
+                .parallel(pool)
+                .map(x -> x * 2)
+                .toList();
+
+        assertEquals(5_000, actual.size());
+        assertEquals(Integer.valueOf(9_998), actual.get(4_999));
+    }
+
+    @Test
+    public void shouldGoBackToSequentialIter() {
+        final Iter<Integer> iter = Iter.from(1, 2, 3)
+                .parallel(pool)
+                .map(x -> x * 2)
+                .sequential();
+
+        assertEquals(Arrays.asList(2, 4, 6), iter.toList());
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class PrefetchIterTest {
+    @Test
+    public void shouldReturnAllItemsInOrder() {
+        final List<Integer> actual = Iter.from(0, x -> x + 1)
+                .take(10_000)
+                .prefetch(16)
+                .toList();
+
+        assertEquals(10_000, actual.size());
+        for (int i = 0; i < actual.size(); i++)
+            assertEquals(Integer.valueOf(i), actual.get(i));
+    }
+
+    @Test
+    public void shouldPassNullItems() {
+        final List<String> actual = Iter.from("a", null, "c").prefetch(1).toList();
+
+        assertEquals(Arrays.asList("a", null, "c"), actual);
+    }
+
+    @Test
+    public void shouldPullUpstreamOnAnotherThread() {
+        final AtomicReference<Thread> producer = new AtomicReference<>();
+        final Iter<Integer> upstream = () -> {
+            producer.compareAndSet(null, Thread.currentThread());
+            return EndOfIter.failure();
+        };
+
+        upstream.prefetch(4).next();
+
+        assertNotNull(producer.get());
+        assertNotSame(Thread.currentThread(), producer.get());
+    }
+
+    @Test
+    public void shouldNotStartBeforeFirstPull() {
+        final RecordingThreadFactory factory = new RecordingThreadFactory();
+
+        final Iter<Integer> iter = Iter.from(1, 2, 3).prefetch(2, factory);
+        assertEquals(0, factory.created());
+
+        iter.next();
+        assertEquals(1, factory.created());
+    }
+
+    @Test
+    public void shouldReturnUpstreamFailureAfterItems() {
+        final IllegalStateException failure = new IllegalStateException("upstream");
+        final AtomicInteger count = new AtomicInteger();
+        final Iter<Integer> upstream = () -> count.get() < 2
+                ? Try.success(count.incrementAndGet())
+                : Try.failure(failure);
+
+        final Iter<Integer> iter = upstream.prefetch(8);
+
+        assertEquals(Integer.valueOf(1), iter.next().get());
+        assertEquals(Integer.valueOf(2), iter.next().get());
+        final Try<Integer> last = iter.next();
+        assertTrue(last.isFailure());
+        last.ifFailure(exc -> assertSame(failure, exc));
+        // stays at the end
+        iter.next().ifFailure(exc -> assertSame(failure, exc));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldThrowExceptionThrownUpstream() {
+        Iter.from(1, 2, 0, 4)
+                .map(x -> 4 / x)
+                .prefetch(2)
+                .toList();
+    }
+
+    @Test
+    public void shouldStopProducerWhenClosed() throws InterruptedException {
+        final RecordingThreadFactory factory = new RecordingThreadFactory();
+
+        final PrefetchIter<Integer> iter = Iter.from(0, x -> x + 1).prefetch(4, factory);
+        iter.next();
+        iter.close();
+
+        factory.producer().join(5_000);
+        assertFalse(factory.producer().isAlive());
+        iter.next().ifSuccess(ignored -> fail("Should not return a value after close!"));
+    }
+
+    @Test
+    public void shouldBeClosedByTake() throws InterruptedException {
+        final RecordingThreadFactory factory = new RecordingThreadFactory();
+
+        final List<Integer> actual = Iter.from(0, x -> x + 1).prefetch(4, factory).take(3).toList();
+
+        assertEquals(Arrays.asList(0, 1, 2), actual);
+        factory.producer().join(5_000);
+        assertFalse(factory.producer().isAlive());
+    }
+
+    @Test
+    public void shouldCloseUpstreamWhenDone() throws InterruptedException {
+        final RecordingThreadFactory factory = new RecordingThreadFactory();
+        final boolean[] closed = {false};
+
+        Iter.fromStream(Stream.of(1, 2, 3).onClose(() -> closed[0] = true))
+                .prefetch(1, factory)
+                .toList();
+
+        factory.producer().join(5_000);
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    public void shouldPassTryItems() {
+        final Try<Integer> failure = Try.failure(new IllegalStateException("item"));
+
+        final List<Try<Integer>> actual = Iter.from(Try.success(1), failure).prefetch(1).toList();
+
+        assertEquals(2, actual.size());
+        assertSame(failure, actual.get(1));
+    }
+
+    @Test
+    public void shouldThrowFromTerminalOperationWhenInterrupted() {
+        final Iter<Integer> iter = slow().prefetch(4);
+        Thread.currentThread().interrupt();
+
+        try {
+            iter.toList();
+            fail("Should throw when interrupted!");
+        } catch (final IllegalStateException exc) {
+            assertTrue(exc.getCause() instanceof InterruptedException);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void shouldReturnInterruptedExceptionFromNext() {
+        final PrefetchIter<Integer> iter = slow().prefetch(4);
+        Thread.currentThread().interrupt();
+
+        try {
+            iter.next()
+                    .ifSuccess(ignored -> fail("Should not return a value!"))
+                    .ifFailure(exc -> assertTrue(exc instanceof InterruptedException));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    // an upstream that does not produce anything until the producer is
+    // interrupted by close
+    private static Iter<Integer> slow() {
+        return () -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            return EndOfIter.failure();
+        };
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIfCapacityIsNotPositive() {
+        Iter.from(1).prefetch(0);
+    }
+
+    // remembers the threads it created, so a test can wait for the producer
+    private static final class RecordingThreadFactory implements ThreadFactory {
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable);
+            threads.add(thread);
+            return thread;
+        }
+
+        int created() {
+            return threads.size();
+        }
+
+        Thread producer() {
+            return threads.get(threads.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.ajoz.iter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class QueueIterTest {
+    @Test
+    public void shouldEndAtPoisonPill() {
+        final BlockingQueue<String> queue = new LinkedBlockingQueue<>(Arrays.asList("a", "b", "END", "c"));
+
+        final List<String> actual = Iter.fromQueue(queue, "END").toList();
+
+        assertEquals(Arrays.asList("a", "b"), actual);
+        // nothing after the poison pill is taken
+        assertEquals(Arrays.asList("c"), new ArrayList<>(queue));
+    }
+
+    @Test
+    public void shouldWaitForProducer() throws InterruptedException {
+        final BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(4);
+        final Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 1000; i++) {
+                    queue.put(i);
+                }
+                queue.put(-1);
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        final List<Integer> actual = Iter.fromQueue(queue, -1).toList();
+        producer.join();
+
+        assertEquals(1000, actual.size());
+        assertEquals(Integer.valueOf(999), actual.get(999));
+    }
+
+    @Test
+    public void shouldEndAfterTimeout() {
+        final BlockingQueue<Integer> queue = new LinkedBlockingQueue<>(Arrays.asList(1, 2));
+
+        final Iter<Integer> iter = Iter.fromQueue(queue, 10, TimeUnit.MILLISECONDS);
+
+        assertEquals(Arrays.asList(1, 2), iter.toList());
+        // stays at the end even if the queue gets new elements
+        queue.add(3);
+        assertTrue(iter.next().isFailure());
+    }
+
+    @Test
+    public void shouldEndWithFailureWhenInterrupted() {
+        final BlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
+        Thread.currentThread().interrupt();
+
+        try {
+            Iter.fromQueue(queue, -1)
+                    .next()
+                    .ifSuccess(ignored -> fail("Should not return a value!"))
+                    .ifFailure(exc -> assertTrue(exc instanceof InterruptedException));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldThrowIfPoisonPillIsNull() {
+        Iter.fromQueue(new LinkedBlockingQueue<Integer>(), null);
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.ajoz.iter;
+
+import io.github.ajoz.util.Try;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class SharedIterTest {
+    @Test
+    public void shouldReturnAllItemsToEachConsumer() {
+        final List<Iter<Integer>> iters = Iter.from(0, x -> x + 1).take(1000).share(3);
+
+        final List<Integer> first = iters.get(0).toList();
+        final List<Integer> second = iters.get(1).toList();
+        final List<Integer> third = iters.get(2).toList();
+
+        assertEquals(1000, first.size());
+        assertEquals(first, second);
+        assertEquals(first, third);
+    }
+
+    @Test
+    public void shouldPullUpstreamOnce() {
+        final AtomicInteger pulled = new AtomicInteger();
+        final List<Iter<Integer>> iters = Iter.from(1, 2, 3, 4, 5)
+                .onEach(ignored -> pulled.incrementAndGet())
+                .share(2);
+
+        iters.get(0).toList();
+        iters.get(1).toList();
+
+        assertEquals(5, pulled.get());
+    }
+
+    @Test
+    public void shouldPullUpstreamOnlyAsFarAsFastestConsumer() {
+        final AtomicInteger pulled = new AtomicInteger();
+        final List<Iter<Integer>> iters = Iter.from(0, x -> x + 1)
+                .onEach(ignored -> pulled.incrementAndGet())
+                .share(2);
+
+        iters.get(0).take(100).toList();
+        iters.get(1).take(10).toList();
+
+        assertEquals(100, pulled.get());
+    }
+
+    @Test
+    public void shouldReadIndependentlyWhenInterleaved() {
+        final List<Iter<Integer>> iters = Iter.from(0, x -> x + 1).take(200).share(2);
+        final List<Integer> first = new ArrayList<>();
+        final List<Integer> second = new ArrayList<>();
+
+        // the first consumer is always three elements ahead
+        for (int i = 0; i < 200; i++) {
+            iters.get(0).next().ifSuccess(first::add);
+            if (i % 3 == 0) {
+                iters.get(1).next().ifSuccess(second::add);
+            }
+        }
+        iters.get(1).forEach(second::add);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void shouldPassNullItems() {
+        final List<Iter<String>> iters = Iter.fromIterable(Arrays.asList("a", null)).share(2);
+
+        assertEquals(Arrays.asList("a", null), iters.get(0).toList());
+        assertEquals(Arrays.asList("a", null), iters.get(1).toList());
+    }
+
+    @Test
+    public void shouldReturnUpstreamFailureToEachConsumer() {
+        final IllegalStateException failure = new IllegalStateException("upstream");
+        final Iter<Integer> upstream = () -> Try.failure(failure);
+        final List<Iter<Integer>> iters = upstream.share(2);
+
+        iters.get(0).next().ifFailure(exc -> assertSame(failure, exc));
+        iters.get(1).next().ifFailure(exc -> assertSame(failure, exc));
+    }
+
+    @Test
+    public void shouldCloseUpstreamAtTheEnd() {
+        final boolean[] closed = {false};
+        final List<Iter<Integer>> iters = Iter.fromStream(Stream.of(1, 2).onClose(() -> closed[0] = true)).share(2);
+
+        iters.get(0).toList();
+
+        assertTrue(closed[0]);
+        assertEquals(Arrays.asList(1, 2), iters.get(1).toList());
+    }
+
+    @Test
+    public void shouldReturnAllItemsToConsumersOnDifferentThreads() throws InterruptedException {
+        final AtomicInteger pulling = new AtomicInteger();
+        final AtomicInteger overlapped = new AtomicInteger();
+        final Iter<Integer> upstream = new Iter<Integer>() {
+            private int current;
+
+            @Override
+            public Try<Integer> next() {
+                return current < 100_000 ? Try.success(pull()) : Try.failure(new IllegalStateException("end"));
+            }
+
+            @Override
+            public boolean tryAdvance(final Consumer<? super Integer> action) {
+                if (current == 100_000)
+                    return false;
+                action.accept(pull());
+                return true;
+            }
+
+            private int pull() {
+                if (pulling.incrementAndGet() != 1)
+                    overlapped.incrementAndGet();
+                final int item = current++;
+                pulling.decrementAndGet();
+                return item;
+            }
+        };
+        final List<Iter<Integer>> iters = upstream.share(4);
+        final List<List<Integer>> results = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (final Iter<Integer> iter : iters) {
+            final List<Integer> result = new ArrayList<>();
+            results.add(result);
+            threads.add(new Thread(() -> iter.forEach(result::add)));
+        }
+
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        final List<Integer> expected = Iter.from(0, x -> x + 1).take(100_000).toList();
+        for (final List<Integer> result : results) {
+            assertEquals(expected, result);
+        }
+        assertEquals(0, overlapped.get());
+    }
+
+    @Test
+    public void shouldPullUpstreamWithItsOwnTryAdvance() {
+        final AtomicInteger nexts = new AtomicInteger();
+        final Iter<Integer> upstream = new Iter<Integer>() {
+            private final Iter<Integer> items = Iter.from(1, 2, 3);
+
+            @Override
+            public Try<Integer> next() {
+                nexts.incrementAndGet();
+                return items.next();
+            }
+
+            @Override
+            public boolean tryAdvance(final Consumer<? super Integer> action) {
+                return items.tryAdvance(action);
+            }
+        };
+        final List<Iter<Integer>> iters = upstream.share(2);
+
+        assertEquals(Arrays.asList(1, 2, 3), iters.get(0).toList());
+        assertEquals(Arrays.asList(1, 2, 3), iters.get(1).toList());
+        assertEquals(0, nexts.get());
+    }
+
+    @Test
+    public void shouldReplayCachedItems() {
+        final AtomicInteger pulled = new AtomicInteger();
+        final CachedIter<Integer> cached = Iter.from(1, 2, 3)
+                .onEach(ignored -> pulled.incrementAndGet())
+                .cache();
+
+        assertEquals(Arrays.asList(1, 2, 3), cached.toList());
+        assertEquals(Arrays.asList(1, 2, 3), cached.replay().toList());
+        assertEquals(Arrays.asList(1, 2, 3), cached.replay().toList());
+        assertEquals(3, pulled.get());
+    }
+
+    @Test
+    public void shouldReplayFromBeginningWhileCachedIsRead() {
+        final CachedIter<Integer> cached = Iter.from(0, x -> x + 1).take(150).cache();
+
+        cached.take(70).toList();
+        final Iter<Integer> replay = cached.replay();
+
+        assertEquals(Integer.valueOf(0), replay.next().get());
+        assertEquals(Integer.valueOf(70), cached.next().get());
+        assertEquals(150, cached.replay().toList().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIfNumberOfConsumersIsNotPositive() {
+        Iter.from(1).share(0);
+    }
+}
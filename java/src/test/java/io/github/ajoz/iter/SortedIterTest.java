@@ -0,0 +1,179 @@
+package io.github.ajoz.iter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SortedIterTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private SpillConfig<Integer> config(final int runSize, final int fanIn) {
+        return SpillConfig.of(SpillSerializer.integers())
+                .withRunSize(runSize)
+                .withFanIn(fanIn)
+                .withTempDir(folder.getRoot().toPath());
+    }
+
+    private List<Integer> random(final int size) {
+        final Random random = new Random(42);
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values.add(random.nextInt(500));
+        }
+        return values;
+    }
+
+    private int files() {
+        final File[] files = folder.getRoot().listFiles();
+        return files == null ? 0 : files.length;
+    }
+
+    @Test
+    public void shouldSortInMemoryWithoutSpilling() {
+        final SortedIter<Integer> sorted = Iter.from(3, 1, 2).sorted(Comparator.naturalOrder(), config(10, 2));
+
+        assertEquals(Arrays.asList(1, 2, 3), sorted.toList());
+        assertEquals(0, sorted.spilledRuns());
+        assertEquals(0, sorted.spilledBytes());
+    }
+
+    @Test
+    public void shouldNotSpillIfUpstreamFillsExactlyOneRun() {
+        final SortedIter<Integer> sorted = Iter.from(4, 3, 2, 1).sorted(Comparator.naturalOrder(), config(4, 2));
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), sorted.toList());
+        assertEquals(0, sorted.spilledRuns());
+    }
+
+    @Test
+    public void shouldReturnNothingForEmptyUpstream() {
+        assertEquals(Collections.emptyList(), Iter.<Integer>empty().sorted(Comparator.naturalOrder(), config(4, 2)).toList());
+    }
+
+    @Test
+    public void shouldSpillRunsAndMergeThem() {
+        final List<Integer> values = random(1000);
+        final SortedIter<Integer> sorted = Iter.fromIterable(values).sorted(Comparator.naturalOrder(), config(100, 16));
+
+        final List<Integer> expected = new ArrayList<>(values);
+        Collections.sort(expected);
+        assertEquals(expected, sorted.toList());
+        // the last run stays in the memory
+        assertEquals(9, sorted.spilledRuns());
+        assertEquals(900 * 4, sorted.spilledBytes());
+        assertEquals(0, sorted.mergePasses());
+    }
+
+    @Test
+    public void shouldMergeInPassesIfThereAreMoreRunsThanFanIn() {
+        final List<Integer> values = random(1000);
+        final SortedIter<Integer> sorted = Iter.fromIterable(values).sorted(Comparator.reverseOrder(), config(10, 3));
+
+        final List<Integer> expected = new ArrayList<>(values);
+        expected.sort(Comparator.reverseOrder());
+        assertEquals(expected, sorted.toList());
+        assertTrue(sorted.mergePasses() > 1);
+        assertTrue(sorted.spilledBytes() > 1000 * 4);
+    }
+
+    @Test
+    public void shouldKeepOrderOfEqualElements() {
+        final List<String> values = new ArrayList<>();
+        final Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            values.add(random.nextInt(10) + ":" + i);
+        }
+        final Comparator<String> byKey = Comparator.comparing(value -> value.substring(0, value.indexOf(':')));
+
+        final List<String> actual = Iter.fromIterable(values)
+                .sorted(byKey, SpillConfig.of(SpillSerializer.strings())
+                        .withRunSize(20)
+                        .withFanIn(4)
+                        .withTempDir(folder.getRoot().toPath()))
+                .toList();
+
+        final List<String> expected = new ArrayList<>(values);
+        expected.sort(byKey);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldDeleteFilesWhenRead() {
+        Iter.fromIterable(random(100)).sorted(Comparator.naturalOrder(), config(10, 4)).toList();
+
+        assertEquals(0, files());
+    }
+
+    @Test
+    public void shouldDeleteFilesWhenClosed() {
+        final SortedIter<Integer> sorted = Iter.fromIterable(random(100)).sorted(Comparator.naturalOrder(), config(10, 16));
+        sorted.next();
+        assertTrue(files() > 0);
+
+        sorted.close();
+
+        assertEquals(0, files());
+        sorted.next().ifSuccess(ignored -> fail("Should not return a value after close!"));
+    }
+
+    @Test
+    public void shouldSortLazily() {
+        final int[] pulled = {0};
+        final SortedIter<Integer> sorted = Iter.from(2, 1)
+                .onEach(ignored -> pulled[0]++)
+                .sorted(Comparator.naturalOrder(), config(10, 2));
+        assertEquals(0, pulled[0]);
+
+        sorted.next();
+
+        assertEquals(2, pulled[0]);
+    }
+
+    @Test
+    public void shouldThrowSpillFailureFromTerminalOperation() {
+        final SpillSerializer<Integer> failing = new SpillSerializer<Integer>() {
+            @Override
+            public void write(final Integer value, final DataOutput out) throws IOException {
+                throw new IOException("Disk is full!");
+            }
+
+            @Override
+            public Integer read(final DataInput in) throws IOException {
+                throw new IOException("Cannot read!");
+            }
+        };
+        final SortedIter<Integer> sorted = Iter.fromIterable(random(10))
+                .sorted(Comparator.naturalOrder(), SpillConfig.of(failing)
+                        .withRunSize(2)
+                        .withTempDir(folder.getRoot().toPath()));
+
+        try {
+            sorted.toList();
+            fail("Should throw the failure of the spill!");
+        } catch (final UncheckedIOException exc) {
+            assertEquals("Disk is full!", exc.getCause().getMessage());
+        }
+        assertTrue(sorted.next().isFailure());
+        assertEquals(0, files());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIfFanInIsLowerThanTwo() {
+        SpillConfig.of(SpillSerializer.integers()).withFanIn(1);
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.ajoz.iter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SpscRingBufferTest {
+    @Test
+    public void shouldRoundCapacityToPowerOfTwo() {
+        assertEquals(8, new SpscRingBuffer<Integer>(5).capacity());
+        assertEquals(8, new SpscRingBuffer<Integer>(8).capacity());
+        assertEquals(1, new SpscRingBuffer<Integer>(1).capacity());
+    }
+
+    @Test
+    public void shouldRefuseOfferWhenFull() {
+        final SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(2);
+
+        assertTrue(ring.offer(1));
+        assertTrue(ring.offer(2));
+        assertFalse(ring.offer(3));
+    }
+
+    @Test
+    public void shouldReturnElementsPutBeforeClose() {
+        final SpscRingBuffer<String> ring = new SpscRingBuffer<>(4);
+        ring.put("a");
+        ring.put(null);
+        ring.put("c");
+        ring.close();
+
+        assertEquals(Arrays.asList("a", null, "c"), ring.iter().toList());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotAcceptElementsAfterClose() {
+        final SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(4);
+        ring.close();
+
+        ring.offer(1);
+    }
+
+    @Test
+    public void shouldDrainAvailableElementsInBatch() {
+        final SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(4);
+        final Iter<Integer> iter = ring.iter();
+        final Integer[] batch = new Integer[4];
+        ring.put(0);
+        ring.put(1);
+        ring.put(2);
+        assertEquals(2, iter.nextBatch(2, batch));
+        ring.put(3);
+        ring.put(4);
+        ring.put(5);
+        ring.close();
+
+        // wraps around the end of the array
+        assertEquals(3, iter.nextBatch(3, batch));
+        assertEquals(Arrays.asList(2, 3, 4), Arrays.asList(batch).subList(0, 3));
+        assertEquals(1, iter.nextBatch(4, batch));
+        assertEquals(Integer.valueOf(5), batch[0]);
+        assertEquals(0, iter.nextBatch(4, batch));
+    }
+
+    @Test
+    public void shouldFillBatchesFromSlowProducer() throws InterruptedException {
+        final SpscRingBuffer<Integer> chunks = new SpscRingBuffer<>(16);
+        final Thread chunksProducer = putSlowly(chunks, 10);
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 2, 3), Arrays.asList(4, 5, 6, 7), Arrays.asList(8, 9)),
+                chunks.iter().chunked(4).toList());
+        chunksProducer.join();
+
+        final SpscRingBuffer<Integer> windows = new SpscRingBuffer<>(16);
+        final Thread windowsProducer = putSlowly(windows, 5);
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(1, 2, 3), Arrays.asList(2, 3, 4)),
+                windows.iter().windowed(3, 1).toList());
+        windowsProducer.join();
+    }
+
+    private static Thread putSlowly(final SpscRingBuffer<Integer> ring, final int count) {
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                ring.put(i);
+                try {
+                    Thread.sleep(1);
+                } catch (final InterruptedException exc) {
+                    return;
+                }
+            }
+            ring.close();
+        });
+        producer.start();
+        return producer;
+    }
+
+    @Test
+    public void shouldPassAllElementsBetweenThreads() throws InterruptedException {
+        final SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(64);
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < 100_000; i++) {
+                ring.put(i);
+            }
+            ring.close();
+        });
+        producer.start();
+
+        final List<Integer> actual = new ArrayList<>();
+        ring.iter().forEach(actual::add);
+        producer.join();
+
+        assertEquals(100_000, actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals(i, actual.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void shouldPassAllElementsBetweenThreadsWithNext() throws InterruptedException {
+        final SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(8);
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                ring.put(i);
+            }
+            ring.close();
+        });
+        producer.start();
+
+        final Iter<Integer> iter = ring.iter();
+        long sum = 0;
+        int count = 0;
+        while (true) {
+            final Integer value = iter.next().getOrElse((Integer) null);
+            if (value == null)
+                break;
+            sum += value;
+            count++;
+        }
+        producer.join();
+
+        assertEquals(10_000, count);
+        assertEquals(49_995_000L, sum);
+    }
+
+    @Test
+    public void shouldThrowFromTerminalOperationWhenInterrupted() {
+        final SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(4);
+        ring.put(1);
+        Thread.currentThread().interrupt();
+
+        try {
+            ring.iter().toList();
+            fail("Should throw when interrupted!");
+        } catch (final IllegalStateException exc) {
+            assertTrue(exc.getCause() instanceof InterruptedException);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void shouldReturnInterruptedExceptionFromNext() {
+        final SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(4);
+        Thread.currentThread().interrupt();
+
+        try {
+            ring.iter()
+                    .next()
+                    .ifSuccess(ignored -> fail("Should not return a value!"))
+                    .ifFailure(exc -> assertTrue(exc instanceof InterruptedException));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void shouldReturnElementsPutBeforeCloseEvenIfInterrupted() {
+        final SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(4);
+        ring.put(1);
+        ring.close();
+        Thread.currentThread().interrupt();
+
+        try {
+            assertEquals(Arrays.asList(1), ring.iter().toList());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
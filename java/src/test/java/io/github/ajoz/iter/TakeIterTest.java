@@ -4,6 +4,11 @@ import org.junit.Assert;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
 public class TakeIterTest {
     @Test
     public void shouldReturnFailureIfNoItemsUpstream() {
@@ -34,4 +39,100 @@ public class TakeIterTest {
                 .ifFailure(exc -> fail("Should return a value!"))
                 .ifSuccess(value -> Assert.assertEquals(expected, value));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldNotPushMoreThanTheAmount() {
+        final Iter<Integer> iter = Iter.from(1, 2, 3, 4).take(2);
+
+        assertTrue(iter.tryAdvance(ignored -> {}));
+        assertTrue(iter.tryAdvance(ignored -> {}));
+        // no more items to take
+        assertFalse(iter.tryAdvance(ignored -> fail("Should not push a value")));
+    }
+
+    @Test
+    public void shouldNotPullUpstreamAfterAmountIsReachedWithNext() {
+        final int[] pulled = {0};
+        final Iter<Integer> iter = Iter.from(1, 2, 3, 4)
+                .onEach(ignored -> pulled[0]++)
+                .take(2);
+
+        iter.next();
+        iter.next();
+        iter.next().ifSuccess(ignored -> fail("Should not return a value"));
+        iter.next().ifSuccess(ignored -> fail("Should not return a value"));
+
+        assertEquals(2, pulled[0]);
+    }
+
+    @Test
+    public void shouldNotPullUpstreamAfterAmountIsReachedWithForEach() {
+        final int[] pulled = {0};
+
+        final List<Integer> actual = Iter.from(1, 2, 3, 4)
+                .map(x -> {
+                    pulled[0]++;
+                    return x * 10;
+                })
+                .take(3)
+                .toList();
+
+        assertEquals(Arrays.asList(10, 20, 30), actual);
+        assertEquals(3, pulled[0]);
+    }
+
+    @Test
+    public void shouldNotPullUpstreamForZeroAmount() {
+        final int[] pulled = {0};
+
+        Iter.from(1, 2, 3)
+                .onEach(ignored -> pulled[0]++)
+                .take(0)
+                .toList();
+
+        assertEquals(0, pulled[0]);
+    }
+
+    @Test
+    public void shouldNotRunGeneratorMoreThanNeeded() {
+        final int[] generated = {0};
+
+        final List<Integer> actual = Iter.from(0, x -> {
+            generated[0]++;
+            return x + 1;
+        }).take(5).toList();
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), actual);
+        assertEquals(4, generated[0]);
+    }
+
+    @Test
+    public void shouldCloseUpstreamAsSoonAsAmountIsReached() {
+        final boolean[] closed = {false};
+        final Iter<Integer> iter = Iter.fromStream(Stream.of(1, 2, 3).onClose(() -> closed[0] = true)).take(2);
+
+        iter.next();
+        assertFalse(closed[0]);
+        iter.next();
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    public void shouldCloseSourceThroughIntermediateStages() {
+        final boolean[] closed = {false, false};
+        final List<String> mapped = Iter.fromStream(Stream.of(1, 2, 3).onClose(() -> closed[0] = true))
+                .map(String::valueOf)
+                .take(2)
+                .toList();
+        final List<Integer> fused = Iter.fromStream(Stream.of(1, 2, 3, 4).onClose(() -> closed[1] = true))
+                .filter(x -> x % 2 == 0)
+                .onEach(x -> {})
+                .take(1)
+                .toList();
+
+        assertEquals(Arrays.asList("1", "2"), mapped);
+        assertEquals(Collections.singletonList(2), fused);
+        assertTrue(closed[0]);
+        assertTrue(closed[1]);
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.ajoz.sequence;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SeqChunkTest {
+    @Test
+    public void shouldBuildChunksFromList() {
+        final Seq<Integer> seq = Seq.of(range(0, 100));
+
+        assertTrue(seq instanceof Seq.Chunk);
+        assertEquals(range(0, 100), toList(seq));
+    }
+
+    @Test
+    public void shouldBuildChunksFromSequentialList() {
+        final List<Integer> list = new LinkedList<>(range(0, 70));
+        final Seq<Integer> seq = Seq.of(list);
+
+        assertTrue(seq instanceof Seq.Chunk);
+        assertEquals(list, toList(seq));
+        assertEquals(list, toList(seq));
+    }
+
+    @Test
+    public void shouldWalkChunkWithGetTail() {
+        Seq<Integer> seq = Seq.of(range(0, 40));
+        final List<Integer> values = new ArrayList<>();
+        while (!seq.isEmpty()) {
+            values.add(seq.getHead());
+            seq = seq.getTail();
+        }
+
+        assertEquals(range(0, 40), values);
+    }
+
+    @Test
+    public void shouldMapOneChunkAtATime() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Seq<Integer> seq = Seq.of(range(0, 100)).map(x -> {
+            calls.incrementAndGet();
+            return x * 2;
+        });
+
+        assertEquals(Integer.valueOf(0), seq.getHead());
+        assertEquals(Seq.Chunk.SIZE, calls.get());
+
+        assertEquals(Integer.valueOf(2 * Seq.Chunk.SIZE), toList(seq).get(Seq.Chunk.SIZE));
+        assertEquals(100, calls.get());
+    }
+
+    @Test
+    public void shouldTakeAcrossChunks() {
+        final Seq<Integer> seq = Seq.of(range(0, 100));
+
+        assertTrue(seq.take(0).isEmpty());
+        assertEquals(range(0, 10), toList(seq.take(10)));
+        assertEquals(range(0, 50), toList(seq.take(50)));
+        assertEquals(range(0, 100), toList(seq.take(500)));
+        assertEquals(range(5, 15), toList(seq.getTail().getTail().getTail().getTail().getTail().take(10)));
+    }
+
+    @Test
+    public void shouldNotEvaluateRestWhenTakeEndsInChunk() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Seq<Integer> seq = Seq.concat(Seq.of(range(0, 10)), () -> {
+            evaluations.incrementAndGet();
+            return Seq.of(range(10, 20));
+        });
+
+        assertEquals(range(0, 10), toList(seq.take(10)));
+        assertEquals(0, evaluations.get());
+    }
+
+    @Test
+    public void shouldZipChunksOfDifferentLengths() {
+        final Seq<Integer> first = Seq.of(range(0, 100));
+        final Seq<Integer> second = Seq.of(range(0, 70)).getTail();
+
+        final List<Integer> zipped = toList(first.zip(second, Integer::sum));
+
+        assertEquals(69, zipped.size());
+        assertEquals(Integer.valueOf(1), zipped.get(0));
+        assertEquals(Integer.valueOf(68 + 69), zipped.get(68));
+    }
+
+    @Test
+    public void shouldZipChunkWithCons() {
+        final Seq<String> zipped = Seq.of(Arrays.asList("a", "b", "c"))
+                .zip(Seq.generate(1, x -> x + 1), (letter, number) -> letter + number);
+
+        assertEquals(Arrays.asList("a1", "b2", "c3"), toList(zipped));
+    }
+
+    @Test
+    public void shouldConcatChunks() {
+        final Seq<Integer> seq = Seq.concat(Seq.of(range(0, 40)), () -> Seq.of(range(40, 80)));
+
+        assertTrue(seq instanceof Seq.Chunk);
+        assertEquals(range(0, 80), toList(seq));
+    }
+
+    @Test
+    public void shouldFlatMapIntoChunks() {
+        final Seq<Integer> seq = Seq.of(Arrays.asList(0, 40))
+                .flatMap(x -> Seq.of(range(x, x + 40)));
+
+        assertEquals(range(0, 80), toList(seq));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailIfRestAsksForItself() {
+        final List<Seq<Integer>> self = new ArrayList<>();
+        self.add(new Seq.Chunk<>(new Object[]{1, 2}, 0, 2, () -> self.get(0).getTail().getTail()));
+
+        self.get(0).getTail().getTail();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void shouldFailIteratorAfterLastElement() {
+        final Iterator<Integer> iterator = Seq.of(range(0, 3)).iterator();
+        iterator.next();
+        iterator.next();
+        iterator.next();
+        iterator.next();
+    }
+
+    private static List<Integer> range(final int from, final int to) {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = from; i < to; i++)
+            list.add(i);
+        return list;
+    }
+
+    private static <A> List<A> toList(final Seq<A> seq) {
+        final List<A> list = new ArrayList<>();
+        for (final A value : seq)
+            list.add(value);
+        return list;
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.ajoz.sequence;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SeqConsTest {
+    @Test
+    public void shouldEvaluateTailOnce() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Seq<Integer> seq = new Seq.Cons<>(1, () -> {
+            evaluations.incrementAndGet();
+            return new Seq.Nil<>();
+        });
+
+        seq.getTail();
+        seq.getTail();
+
+        assertEquals(1, evaluations.get());
+        assertSame(seq.getTail(), seq.getTail());
+    }
+
+    @Test
+    public void shouldNotEvaluateTailUntilAsked() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        Seq.generate(0, x -> {
+            evaluations.incrementAndGet();
+            return x + 1;
+        });
+
+        assertEquals(0, evaluations.get());
+    }
+
+    @Test
+    public void shouldGenerateEachElementOnceWhenTraversedTwice() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Seq<Integer> seq = Seq.generate(0, x -> {
+            evaluations.incrementAndGet();
+            return x + 1;
+        }).map(x -> x * 2);
+
+        final List<Integer> first = firstElements(seq, 100);
+        final List<Integer> second = firstElements(seq, 100);
+
+        assertEquals(first, second);
+        assertEquals(99, evaluations.get());
+    }
+
+    private static List<Integer> firstElements(final Seq<Integer> seq, final int count) {
+        final List<Integer> elements = new ArrayList<>();
+        Seq<Integer> current = seq;
+        for (int i = 0; i < count; i++) {
+            elements.add(current.getHead());
+            if (i < count - 1)
+                current = current.getTail();
+        }
+        return elements;
+    }
+
+    @Test
+    public void shouldEvaluateTailOnceForManyThreads() throws InterruptedException {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Seq<Integer> seq = new Seq.Cons<>(1, () -> {
+            evaluations.incrementAndGet();
+            return new Seq.Cons<>(2, Seq.Nil::new);
+        });
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        final List<Seq<Integer>> tails = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException exc) {
+                    return;
+                }
+                final Seq<Integer> tail = seq.getTail();
+                synchronized (tails) {
+                    tails.add(tail);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, evaluations.get());
+        assertEquals(8, tails.size());
+        for (final Seq<Integer> tail : tails) {
+            assertSame(tails.get(0), tail);
+        }
+    }
+
+    @Test
+    public void shouldEvaluateAgainIfTailThrew() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Seq<Integer> seq = new Seq.Cons<>(1, () -> {
+            if (evaluations.incrementAndGet() == 1)
+                throw new IllegalStateException("first time");
+            return new Seq.Nil<>();
+        });
+
+        try {
+            seq.getTail();
+            fail("Should throw!");
+        } catch (final IllegalStateException expected) {
+            // the second call evaluates the tail again
+        }
+
+        assertTrue(seq.getTail().isEmpty());
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    public void shouldFailIfTailIsNull() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Seq<Integer> seq = new Seq.Cons<>(1, () -> {
+            evaluations.incrementAndGet();
+            return null;
+        });
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                seq.getTail();
+                fail("Should throw!");
+            } catch (final NullPointerException expected) {
+                // the tail stays unevaluated
+            }
+        }
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailIfSupplierAsksForItsOwnTail() {
+        final List<Seq<Integer>> self = new ArrayList<>();
+        self.add(new Seq.Cons<>(1, () -> self.get(0).getTail()));
+
+        self.get(0).getTail();
+    }
+}
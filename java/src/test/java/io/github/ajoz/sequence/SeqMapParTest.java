@@ -0,0 +1,183 @@
+package io.github.ajoz.sequence;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SeqMapParTest {
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldKeepOrder() {
+        final List<Integer> values = Seq.of(range(0, 200))
+                .mapPar(8, executor, x -> {
+                    sleepRandomly();
+                    return x * 2;
+                })
+                .foldLeft(new ArrayList<>(), (list, item) -> {
+                    list.add(item);
+                    return list;
+                });
+
+        assertEquals(200, values.size());
+        for (int i = 0; i < values.size(); i++)
+            assertEquals(Integer.valueOf(i * 2), values.get(i));
+    }
+
+    @Test
+    public void shouldMapEmptySeq() {
+        assertTrue(new Seq.Nil<Integer>().mapPar(4, executor, x -> x).isEmpty());
+    }
+
+    @Test
+    public void shouldNotReadPastWindow() {
+        final AtomicInteger read = new AtomicInteger();
+        final AtomicInteger mapped = new AtomicInteger();
+        final Seq<Integer> seq = Seq.generate(0, x -> {
+            read.incrementAndGet();
+            return x + 1;
+        }).mapPar(4, executor, x -> {
+            mapped.incrementAndGet();
+            return x;
+        });
+
+        assertEquals(Integer.valueOf(0), seq.getHead());
+        assertEquals(Integer.valueOf(1), seq.getTail().getHead());
+        assertTrue(read.get() <= 5);
+        assertTrue(mapped.get() <= 5);
+    }
+
+    @Test
+    public void shouldRunUpToWindowConcurrently() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final long count = Seq.generate(0, x -> x + 1).take(100)
+                .mapPar(3, executor, x -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleepRandomly();
+                    running.decrementAndGet();
+                    return x;
+                })
+                .count();
+
+        assertEquals(100, count);
+        assertTrue(maxRunning.get() <= 3);
+        assertTrue(maxRunning.get() > 1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRethrowMapperFailure() {
+        Seq.of(range(0, 10))
+                .mapPar(4, executor, x -> {
+                    if (x == 5)
+                        throw new IllegalStateException("five");
+                    return x;
+                })
+                .count();
+    }
+
+    @Test
+    public void shouldCancelWindowWhenSeqIsDropped() throws InterruptedException {
+        final CountDownLatch never = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(3);
+        final CountDownLatch interrupted = new CountDownLatch(3);
+
+        assertEquals(Integer.valueOf(0), firstOf(Seq.generate(0, x -> x + 1)
+                .mapPar(4, executor, x -> {
+                    if (x == 0)
+                        return x;
+                    started.countDown();
+                    try {
+                        never.await();
+                    } catch (final InterruptedException exc) {
+                        interrupted.countDown();
+                    }
+                    return x;
+                })));
+        // a task cancelled before it started would never be interrupted
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // the Cleaner runs only after the GC has found the Seq unreachable
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (interrupted.getCount() > 0 && System.nanoTime() < deadline) {
+            System.gc();
+            interrupted.await(20, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(0, interrupted.getCount());
+    }
+
+    @Test
+    public void shouldStopTasksWhenExecutorIsShutDown() throws InterruptedException {
+        final CountDownLatch never = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(3);
+        final CountDownLatch interrupted = new CountDownLatch(3);
+        final Seq<Integer> seq = Seq.generate(0, x -> x + 1)
+                .mapPar(4, executor, x -> {
+                    if (x == 0)
+                        return x;
+                    started.countDown();
+                    try {
+                        never.await();
+                    } catch (final InterruptedException exc) {
+                        interrupted.countDown();
+                    }
+                    return x;
+                });
+        assertEquals(Integer.valueOf(0), seq.getHead());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        executor.shutdownNow();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailWithNonPositiveWindow() {
+        Seq.continously(1).mapPar(0, executor, x -> x);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldFailWithNullExecutor() {
+        Seq.continously(1).mapPar(1, null, x -> x);
+    }
+
+    private static <A> A firstOf(final Seq<A> seq) {
+        return seq.getHead();
+    }
+
+    private static void sleepRandomly() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+        } catch (final InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<Integer> range(final int from, final int to) {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = from; i < to; i++)
+            list.add(i);
+        return list;
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.ajoz.sequence;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class SeqReductionTest {
+    private static final int SIZE = 1_000_000;
+
+    @Test
+    public void shouldDropElements() {
+        final Seq<Integer> seq = Seq.generate(0, x -> x + 1);
+
+        assertEquals(Integer.valueOf(0), seq.drop(0).getHead());
+        assertEquals(Integer.valueOf(SIZE), seq.drop(SIZE).getHead());
+        assertTrue(seq.take(5).drop(5).isEmpty());
+        assertTrue(seq.take(5).drop(10).isEmpty());
+    }
+
+    @Test
+    public void shouldDropElementsOfChunks() {
+        final Seq<Integer> seq = Seq.of(range(0, 100));
+
+        assertEquals(range(3, 100), toList(seq.drop(3)));
+        assertEquals(range(64, 100), toList(seq.drop(64)));
+        assertEquals(range(70, 100), toList(seq.drop(70)));
+        assertTrue(seq.drop(100).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailDropWithNegativeAmount() {
+        Seq.continously(1).drop(-1);
+    }
+
+    @Test
+    public void shouldTakeWhile() {
+        assertEquals(Arrays.asList(0, 1, 2), toList(Seq.generate(0, x -> x + 1).takeWhile(x -> x < 3)));
+        assertEquals(range(0, 50), toList(Seq.of(range(0, 100)).takeWhile(x -> x < 50)));
+        assertEquals(range(0, 100), toList(Seq.of(range(0, 100)).takeWhile(x -> true)));
+        assertTrue(Seq.of(range(0, 100)).takeWhile(x -> x > 0).isEmpty());
+    }
+
+    @Test
+    public void shouldDropWhile() {
+        assertEquals(Integer.valueOf(SIZE), Seq.generate(0, x -> x + 1).dropWhile(x -> x < SIZE).getHead());
+        assertEquals(range(50, 100), toList(Seq.of(range(0, 100)).dropWhile(x -> x < 50)));
+        assertTrue(Seq.of(range(0, 100)).dropWhile(x -> true).isEmpty());
+    }
+
+    @Test
+    public void shouldFoldLeft() {
+        final String folded = Seq.of(Arrays.asList("a", "b", "c"))
+                .foldLeft("", (joined, item) -> joined + item);
+
+        assertEquals("abc", folded);
+        assertEquals(Integer.valueOf(7), new Seq.Nil<Integer>().foldLeft(7, Integer::sum));
+    }
+
+    @Test
+    public void shouldReduce() {
+        assertEquals(Optional.of(10), Seq.of(Arrays.asList(1, 2, 3, 4)).reduce(Integer::sum));
+        assertEquals(Optional.empty(), new Seq.Nil<Integer>().reduce(Integer::sum));
+    }
+
+    @Test
+    public void shouldCount() {
+        assertEquals(SIZE, Seq.generate(0, x -> x + 1).take(SIZE).count());
+        assertEquals(0, new Seq.Nil<Integer>().count());
+    }
+
+    @Test
+    public void shouldFind() {
+        assertEquals(Optional.of(SIZE), Seq.generate(0, x -> x + 1).find(x -> x >= SIZE));
+        assertEquals(Optional.empty(), Seq.of(range(0, 100)).find(x -> x > 100));
+    }
+
+    @Test
+    public void shouldForEach() {
+        final AtomicLong sum = new AtomicLong();
+        Seq.generate(0L, x -> x + 1).take(SIZE).forEach(sum::addAndGet);
+
+        assertEquals((long) SIZE * (SIZE - 1) / 2, sum.get());
+    }
+
+    @Test
+    public void shouldReleaseDroppedElements() throws InterruptedException {
+        Seq<Integer> seq = Seq.generate(0, x -> x + 1).map(x -> x * 2);
+        final WeakReference<Seq<Integer>> head = new WeakReference<>(seq);
+
+        seq = seq.drop(SIZE);
+
+        assertTrue(isCollected(head));
+        assertEquals(Integer.valueOf(2 * SIZE), seq.getHead());
+    }
+
+    @Test
+    public void shouldReleaseElementsDroppedWhile() throws InterruptedException {
+        Seq<Integer> seq = Seq.concat(Seq.of(range(0, 100)), () -> Seq.generate(100, x -> x + 1));
+        final WeakReference<Seq<Integer>> head = new WeakReference<>(seq);
+
+        seq = seq.dropWhile(x -> x < SIZE);
+
+        assertTrue(isCollected(head));
+        assertEquals(Integer.valueOf(SIZE), seq.getHead());
+    }
+
+    private static boolean isCollected(final WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        return reference.get() == null;
+    }
+
+    private static List<Integer> range(final int from, final int to) {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = from; i < to; i++)
+            list.add(i);
+        return list;
+    }
+
+    private static <A> List<A> toList(final Seq<A> seq) {
+        return seq.foldLeft(new ArrayList<>(), (list, item) -> {
+            list.add(item);
+            return list;
+        });
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.ajoz.sequence;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SeqStackSafetyTest {
+    private static final int SIZE = 1_000_000;
+
+    @Test
+    public void shouldTraverseLongFlatMappedSequence() {
+        final Seq<Integer> seq = Seq.generate(0, x -> x + 1)
+                .map(x -> x * 2)
+                .flatMap(x -> Seq.of(Arrays.asList(x, x + 1)))
+                .take(SIZE);
+
+        long count = 0;
+        long sum = 0;
+        for (final Integer value : seq) {
+            count++;
+            sum += value;
+        }
+
+        assertEquals(SIZE, count);
+        assertEquals((long) SIZE * (SIZE - 1) / 2, sum);
+    }
+
+    @Test
+    public void shouldSkipLongRunOfEmptyInnerSequences() {
+        final Seq<Integer> seq = Seq.generate(0, x -> x + 1)
+                .flatMap(x -> x % SIZE == SIZE - 1
+                        ? Seq.of(Collections.singletonList(x))
+                        : new Seq.Nil<>());
+
+        assertEquals(Integer.valueOf(SIZE - 1), seq.getHead());
+        assertEquals(Integer.valueOf(2 * SIZE - 1), seq.getTail().getHead());
+    }
+
+    @Test
+    public void shouldFlatMapToEmptySequence() {
+        final Seq<Integer> seq = Seq.of(Collections.nCopies(SIZE, 1))
+                .flatMap(x -> new Seq.Nil<>());
+
+        assertTrue(seq.isEmpty());
+    }
+
+    @Test
+    public void shouldTraverseLongRandomAccessList() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++)
+            list.add(i);
+
+        assertEquals(list, toList(Seq.of(list)));
+    }
+
+    @Test
+    public void shouldTraverseLongSequentialList() {
+        final List<Integer> list = new LinkedList<>();
+        for (int i = 0; i < SIZE; i++)
+            list.add(i);
+
+        assertEquals(list, toList(Seq.of(list)));
+    }
+
+    @Test
+    public void shouldConcatLongSequences() {
+        final Seq<Integer> seq = Seq.concat(
+                Seq.generate(0, x -> x + 1).take(SIZE),
+                () -> Seq.generate(SIZE, x -> x + 1).take(SIZE));
+
+        final List<Integer> values = toList(seq);
+
+        assertEquals(2 * SIZE, values.size());
+        assertEquals(Integer.valueOf(2 * SIZE - 1), values.get(2 * SIZE - 1));
+    }
+
+    @Test
+    public void shouldTraverseLeftNestedConcats() {
+        Seq<Integer> seq = new Seq.Nil<>();
+        for (int i = 0; i < 100_000; i++) {
+            final int value = i;
+            seq = Seq.concat(seq, () -> new Seq.Cons<>(value, Seq.Nil::new));
+        }
+
+        final List<Integer> values = toList(seq);
+
+        assertEquals(100_000, values.size());
+        assertEquals(Integer.valueOf(99_999), values.get(99_999));
+    }
+
+    @Test
+    public void shouldTraverseRightNestedConcats() {
+        final List<Integer> values = toList(countFrom(0).take(SIZE));
+
+        assertEquals(SIZE, values.size());
+        assertEquals(Integer.valueOf(SIZE - 1), values.get(SIZE - 1));
+    }
+
+    private static Seq<Integer> countFrom(final int start) {
+        return Seq.concat(Seq.of(Arrays.asList(start, start + 1)), () -> countFrom(start + 2));
+    }
+
+    @Test
+    public void shouldKeepConcatenatedSequenceUnchanged() {
+        final Seq<Integer> base = Seq.concat(Seq.of(Arrays.asList(1, 2)), () -> Seq.of(Collections.singletonList(3)));
+        final Seq<Integer> first = Seq.concat(base, () -> Seq.of(Collections.singletonList(4)));
+        final Seq<Integer> second = Seq.concat(base, () -> Seq.concat(Seq.of(Collections.singletonList(5)),
+                () -> Seq.of(Collections.singletonList(6))));
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), toList(first));
+        assertEquals(Arrays.asList(1, 2, 3, 5, 6), toList(second));
+        assertEquals(Arrays.asList(1, 2, 3), toList(base));
+        assertEquals(Arrays.asList(1, 2, 3, 5, 6, 7), toList(Seq.concat(second, () -> Seq.of(Collections.singletonList(7)))));
+    }
+
+    @Test
+    public void shouldZipLongSequences() {
+        final Seq<Integer> seq = Seq.generate(0, x -> x + 1).take(SIZE)
+                .zip(Seq.continously(1), Integer::sum);
+
+        final List<Integer> values = toList(seq);
+
+        assertEquals(SIZE, values.size());
+        assertEquals(Integer.valueOf(SIZE), values.get(SIZE - 1));
+    }
+
+    @Test
+    public void shouldNotEvaluateConcatenatedSequenceUntilAsked() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Seq<Integer> seq = Seq.concat(
+                Seq.of(Arrays.asList(1, 2)),
+                () -> {
+                    evaluations.incrementAndGet();
+                    return new Seq.Nil<>();
+                });
+
+        assertEquals(Integer.valueOf(2), seq.getTail().getHead());
+        assertEquals(0, evaluations.get());
+        assertTrue(seq.getTail().getTail().isEmpty());
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    public void shouldTakeExactlyThreshold() {
+        final Seq<Integer> seq = Seq.generate(0, x -> x + 1);
+
+        assertTrue(seq.take(0).isEmpty());
+        assertEquals(Collections.singletonList(0), toList(seq.take(1)));
+        assertEquals(Arrays.asList(0, 1, 2), toList(seq.take(3)));
+        assertEquals(Arrays.asList(1, 2), toList(Seq.of(Arrays.asList(1, 2)).take(5)));
+    }
+
+    @Test
+    public void shouldNotEvaluateTailAfterLastTakenElement() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Seq<Integer> seq = Seq.generate(0, x -> {
+            evaluations.incrementAndGet();
+            return x + 1;
+        });
+
+        assertEquals(Arrays.asList(0, 1), toList(seq.take(2)));
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailTakeWithNegativeThreshold() {
+        Seq.continously(1).take(-1);
+    }
+
+    private static <A> List<A> toList(final Seq<A> seq) {
+        final List<A> list = new ArrayList<>();
+        for (final A value : seq)
+            list.add(value);
+        return list;
+    }
+}